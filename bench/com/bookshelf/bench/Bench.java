@@ -0,0 +1,110 @@
+package com.bookshelf.bench;
+
+import java.util.Locale;
+
+/**
+ * Harness benchmark sederhana (tanpa dependensi) dengan pola ala JMH:
+ * beberapa iterasi warmup, lalu beberapa iterasi pengukuran dengan durasi tetap.
+ * Hasil setiap operasi "dikonsumsi" ke field volatile agar tidak dihapus oleh JIT (dead code elimination).
+ *
+ * Pengaturan lewat system property:
+ * bookshelf.bench.warmup (default 5), bookshelf.bench.iterations (default 5),
+ * bookshelf.bench.timeMillis (durasi per iterasi, default 1000), bookshelf.bench.filter (nama benchmark).
+ */
+public final class Bench {
+
+    private static final int WARMUP = Integer.getInteger("bookshelf.bench.warmup", 5);
+    private static final int ITERATIONS = Integer.getInteger("bookshelf.bench.iterations", 5);
+    private static final long TIME_MILLIS = Long.getLong("bookshelf.bench.timeMillis", 1000);
+    private static final String FILTER = System.getProperty("bookshelf.bench.filter", "");
+    // Durasi minimum satu batch; overhead nanoTime (~25 ns) jadi di bawah 0,1%
+    private static final long MIN_BATCH_NANOS = 100_000;
+    private static final int MAX_BATCH = 1 << 20;
+
+    // Penampung hasil operasi (blackhole)
+    private static volatile Object sink;
+
+    /**
+     * Satu operasi yang diukur; nilai kembalian dikonsumsi oleh harness
+     */
+    @FunctionalInterface
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    private Bench() {
+    }
+
+    /**
+     * Mengukur operasi dan mencetak rata-rata waktu per operasi
+     * @param name Nama benchmark (dipakai juga untuk filter)
+     * @param operation Operasi yang diukur
+     */
+    public static void run(String name, Operation operation) {
+        if (!name.contains(FILTER)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                iteration(operation);
+            }
+            double[] results = new double[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                results[i] = iteration(operation);
+            }
+            printResult(name, results);
+        } catch (Exception e) {
+            System.err.println("Benchmark " + name + " gagal: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Menjalankan operasi berulang kali selama TIME_MILLIS, dalam batch agar biaya System.nanoTime()
+     * tidak ikut terukur: ukuran batch digandakan sampai satu batch memakan minimal MIN_BATCH_NANOS
+     * @return Rata-rata nanodetik per operasi pada iterasi ini
+     */
+    private static double iteration(Operation operation) throws Exception {
+        long deadline = System.nanoTime() + TIME_MILLIS * 1_000_000;
+        long ops = 0;
+        int batch = 1;
+        long start = System.nanoTime();
+        long batchStart = start;
+        long now;
+        do {
+            for (int i = 0; i < batch; i++) {
+                sink = operation.run();
+            }
+            ops += batch;
+            now = System.nanoTime();
+            if (now - batchStart < MIN_BATCH_NANOS && batch < MAX_BATCH) {
+                batch *= 2;
+            }
+            batchStart = now;
+        } while (now < deadline);
+        return (double) (now - start) / ops;
+    }
+
+    private static void printResult(String name, double[] results) {
+        double sum = 0;
+        for (double r : results) {
+            sum += r;
+        }
+        double mean = sum / results.length;
+        double variance = 0;
+        for (double r : results) {
+            variance += (r - mean) * (r - mean);
+        }
+        double stdDev = results.length > 1 ? Math.sqrt(variance / (results.length - 1)) : 0;
+        System.out.println(String.format(Locale.ROOT, "%-52s %14.1f +- %10.1f ns/op", name, mean, stdDev));
+    }
+
+    /**
+     * Header tabel hasil beserta pengaturan yang dipakai
+     */
+    public static void printHeader() {
+        System.out.println(String.format(Locale.ROOT, "Warmup %d x %d ms, pengukuran %d x %d ms",
+                WARMUP, TIME_MILLIS, ITERATIONS, TIME_MILLIS));
+        System.out.println(String.format(Locale.ROOT, "%-52s %33s", "Benchmark", "Score"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookshelf.bench;
+
+import com.bookshelf.database.BookDAOBenchmark;
+
+/**
+ * Menjalankan semua benchmark secara berurutan.
+ * Tidak membutuhkan koneksi database: data dibaca dari ResultSet di memori.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        Bench.printHeader();
+        BookDAOBenchmark.runAll();
+        ModelBenchmark.runAll();
+    }
+}
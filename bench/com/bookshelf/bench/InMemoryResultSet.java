@@ -0,0 +1,201 @@
+package com.bookshelf.bench;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ResultSet di memori untuk benchmark kode mapping tanpa server MySQL.
+ * Getter membaca langsung dari array baris; nama kolom dicari di HashMap seperti driver JDBC.
+ * Hanya method yang dipakai BookDAO yang didukung: next, beforeFirst, close, wasNull, dan getter dasar.
+ */
+public final class InMemoryResultSet extends UnsupportedResultSet {
+
+    /**
+     * Kolom tabel books sesuai urutan di DatabaseManager
+     */
+    public static final String[] BOOK_COLUMNS = {
+        "id", "title", "author", "isbn", "genre", "publication_year", "pages",
+        "description", "rating", "status", "date_added", "date_updated", "user_id"
+    };
+
+    private static final String[] GENRES = {"Programming", "Fiction", "Science", "History", "Biography"};
+    private static final String[] STATUSES = {"Want to Read", "Reading", "Read"};
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Object[][] rows;
+    private int cursor = -1;
+    private boolean lastNull = false;
+
+    private InMemoryResultSet(String[] columns, List<Object[]> rows) {
+        for (int i = 0; i < columns.length; i++) {
+            index.put(columns[i].toLowerCase(Locale.ROOT), i);
+        }
+        this.rows = rows.toArray(new Object[0][]);
+    }
+
+    /**
+     * Membuat baris buku contoh yang selalu sama (agar hasil benchmark bisa dibandingkan)
+     * @param count Jumlah baris
+     */
+    public static List<Object[]> bookRows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 1; i <= count; i++) {
+            Timestamp added = Timestamp.valueOf(base.plusMinutes(i));
+            rows.add(new Object[] {
+                i,
+                "Book Title Number " + i,
+                "Author " + (i % 97),
+                String.format(Locale.ROOT, "978-%010d", i),
+                GENRES[i % GENRES.length],
+                1950 + i % 70,
+                100 + i % 900,
+                "Deskripsi singkat untuk buku nomor " + i,
+                BigDecimal.valueOf(i % 11 / 2.0),
+                STATUSES[i % STATUSES.length],
+                added,
+                added,
+                1
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Membuat ResultSet yang membaca baris-baris di memori
+     * @param columns Nama kolom (dicocokkan tanpa memperhatikan huruf besar/kecil)
+     * @param rows Data baris sesuai urutan kolom
+     */
+    public static ResultSet create(String[] columns, List<Object[]> rows) {
+        return new InMemoryResultSet(columns, rows);
+    }
+
+    @Override
+    public boolean next() {
+        return ++cursor < rows.length;
+    }
+
+    @Override
+    public void beforeFirst() {
+        cursor = -1;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return lastNull;
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        Integer position = index.get(columnLabel);
+        if (position == null) {
+            position = index.get(columnLabel.toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new SQLException("Kolom tidak ditemukan: " + columnLabel);
+            }
+        }
+        return position + 1;
+    }
+
+    // Nilai kolom (1-based) pada baris aktif
+    private Object value(int columnIndex) throws SQLException {
+        if (cursor < 0 || cursor >= rows.length) {
+            throw new SQLException("Cursor tidak berada pada baris");
+        }
+        Object value = rows[cursor][columnIndex - 1];
+        lastNull = value == null;
+        return value;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return value(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0.0 : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null || value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return (Timestamp) value(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+}
@@ -0,0 +1,101 @@
+package com.bookshelf.bench;
+
+import com.bookshelf.gui.BookRowSorter;
+import com.bookshelf.gui.BookTableModel;
+import com.bookshelf.model.Book;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+/**
+ * Benchmark method model dan tabel yang dipanggil setiap kali sel tabel dirender
+ */
+public final class ModelBenchmark {
+
+    private static final int TABLE_ROWS = 1_000;
+    private static final int SORT_ROWS = 100_000;
+    private static final String[] STATUSES = {"Want to Read", "Currently Reading", "Read"};
+
+    private ModelBenchmark() {
+    }
+
+    public static void runAll() {
+        Book book = new Book("Clean Code", "Robert C. Martin", "978-0132350884", "Programming",
+                2008, 464, "A Handbook of Agile Software Craftsmanship");
+        book.setRating(4.5);
+        book.setDateAdded(LocalDateTime.of(2024, 3, 15, 9, 30));
+
+        Bench.run("Book.getRatingStars", book::getRatingStars);
+        Bench.run("Book.getFormattedDateAdded", book::getFormattedDateAdded);
+
+        List<Book> books = new ArrayList<>(TABLE_ROWS);
+        for (int i = 0; i < TABLE_ROWS; i++) {
+            Book copy = new Book(book);
+            copy.setId(i + 1);
+            copy.setRating(i % 11 / 2.0);
+            books.add(copy);
+        }
+        BookTableModel model = new BookTableModel();
+        model.setBooks(books);
+
+        // Seperti JTable yang merender seluruh sel dari semua baris
+        Bench.run("BookTableModel.getValueAt (" + TABLE_ROWS + " rows, all columns)", () -> {
+            Object last = null;
+            int columns = model.getColumnCount();
+            for (int row = 0; row < TABLE_ROWS; row++) {
+                for (int column = 0; column < columns; column++) {
+                    last = model.getValueAt(row, column);
+                }
+            }
+            return last;
+        });
+
+        runSorterBenchmarks(book);
+    }
+
+    /**
+     * Mengurutkan ulang rak 100 ribu buku dengan BookRowSorter (klik header kolom).
+     * Peringkat teks sudah di-cache setelah urutan pertama, seperti saat user berganti arah urutan.
+     */
+    private static void runSorterBenchmarks(Book template) {
+        Random random = new Random(42);
+        List<Book> books = new ArrayList<>(SORT_ROWS);
+        for (int i = 0; i < SORT_ROWS; i++) {
+            Book copy = new Book(template);
+            copy.setId(i + 1);
+            copy.setTitle("Judul " + Integer.toString(random.nextInt(SORT_ROWS), 36));
+            copy.setAuthor("Penulis " + random.nextInt(5_000));
+            copy.setPublicationYear(1900 + random.nextInt(125));
+            copy.setPages(50 + random.nextInt(950));
+            copy.setRating(random.nextInt(11) / 2.0);
+            copy.setStatus(STATUSES[i % STATUSES.length]);
+            books.add(copy);
+        }
+        BookTableModel model = new BookTableModel();
+        model.setBooks(books);
+        BookRowSorter sorter = new BookRowSorter(model);
+
+        for (int column : new int[] {1, 8}) {
+            String name = column == 1 ? "title" : "rating";
+            sorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(column, SortOrder.ASCENDING)));
+            Bench.run("BookRowSorter sort " + name + " (" + SORT_ROWS + " rows)", () -> {
+                sorter.toggleSortOrder(column);
+                return sorter.convertRowIndexToModel(0);
+            });
+        }
+        sorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(1, SortOrder.ASCENDING)));
+        Bench.run("BookRowSorter update row (title, " + SORT_ROWS + " rows)", () -> {
+            sorter.rowsUpdated(0, 0);
+            return sorter.convertRowIndexToModel(0);
+        });
+    }
+
+    public static void main(String[] args) {
+        Bench.printHeader();
+        runAll();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bookshelf.database;
+
+import com.bookshelf.bench.Bench;
+import com.bookshelf.bench.InMemoryResultSet;
+import com.bookshelf.model.Book;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark jalur panas BookDAO yang tidak bergantung pada server MySQL:
+ * mapping ResultSet -> Book/BookSummary, penyusunan SQL pencarian lanjutan,
+ * dan query getBooksByUserId sungguhan terhadap EmbeddedBookRepository.
+ * Berada di package yang sama dengan BookDAO agar bisa memanggil helper package-private.
+ */
+public final class BookDAOBenchmark {
+
+    // Sama dengan ukuran rak contoh yang dimuat getBooksByUserId
+    private static final int SHELF_SIZE = 1_000;
+
+    private BookDAOBenchmark() {
+    }
+
+    public static void runAll() {
+        ResultSet singleRow = InMemoryResultSet.create(InMemoryResultSet.BOOK_COLUMNS, InMemoryResultSet.bookRows(1));
+        Bench.run("BookDAO.mapResultSetToBook", () -> {
+            singleRow.beforeFirst();
+            singleRow.next();
+            return BookDAO.mapResultSetToBook(singleRow);
+        });
+
+        // Loop mapping yang sama dengan getBooksByUserId, untuk seluruh rak
+        ResultSet shelf = InMemoryResultSet.create(InMemoryResultSet.BOOK_COLUMNS, InMemoryResultSet.bookRows(SHELF_SIZE));
+        Bench.run("BookDAO.getBooksByUserId mapping (" + SHELF_SIZE + " rows)", () -> {
+            shelf.beforeFirst();
+            List<Book> books = new ArrayList<>();
+            while (shelf.next()) {
+                books.add(BookDAO.mapResultSetToSummary(shelf));
+            }
+            return books;
+        });
+
+        runEmbeddedBenchmarks();
+
+        Bench.run("BookDAO.searchBooksWithFilters SQL (all filters)", () -> {
+            List<Object> params = new ArrayList<>();
+            return BookDAO.buildFilterQuery(1, "java", "Programming", "Read", 4.0, params);
+        });
+
+        Bench.run("BookDAO.searchBooksWithFilters SQL (no filters)", () -> {
+            List<Object> params = new ArrayList<>();
+            return BookDAO.buildFilterQuery(1, null, null, null, null, params);
+        });
+    }
+
+    // Query rak lengkap (salin + urut + ringkasan) pada penyimpanan embedded di folder sementara
+    private static void runEmbeddedBenchmarks() {
+        try (EmbeddedShelfFixture fixture = EmbeddedShelfFixture.open(SHELF_SIZE)) {
+            BookRepository repository = fixture.repository();
+            Bench.run("EmbeddedBookRepository.getBooksByUserId (" + SHELF_SIZE + " books)",
+                    repository::getBooksByUserId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menyiapkan rak embedded", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        Bench.printHeader();
+        runAll();
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Rak contoh di EmbeddedStore pada folder sementara, untuk benchmark query repository sungguhan
+ * (getBooksByUserId dkk.) tanpa server MySQL. Dipakai oleh harness di bench/ dan oleh benchmark JMH.
+ */
+public final class EmbeddedShelfFixture implements AutoCloseable {
+
+    private static final String[] GENRES = {"Programming", "Fiction", "Science", "History", "Biography"};
+    private static final String[] STATUSES = {"Want to Read", "Currently Reading", "Read"};
+    private static final int USER_ID = 1;
+
+    private final Path directory;
+    private final EmbeddedStore store;
+    private final BookRepository repository;
+
+    private EmbeddedShelfFixture(Path directory, EmbeddedStore store) {
+        this.directory = directory;
+        this.store = store;
+        this.repository = new EmbeddedBookRepository(store, USER_ID);
+    }
+
+    /**
+     * Membuka store baru di folder sementara dan mengisi rak dengan sejumlah buku acak (seed tetap)
+     */
+    public static EmbeddedShelfFixture open(int shelfSize) throws IOException {
+        Path directory = Files.createTempDirectory("bookshelf-bench");
+        EmbeddedStore store = new EmbeddedStore(directory);
+        Random random = new Random(42);
+        LocalDateTime added = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Book> books = new ArrayList<>(shelfSize);
+        for (int i = 0; i < shelfSize; i++) {
+            Book book = new Book("Judul " + Integer.toString(random.nextInt(shelfSize), 36),
+                    "Penulis " + random.nextInt(5_000), null, GENRES[i % GENRES.length],
+                    1900 + random.nextInt(125), 50 + random.nextInt(950), "Deskripsi buku nomor " + i);
+            book.setRating(random.nextInt(11) / 2.0);
+            book.setStatus(STATUSES[i % STATUSES.length]);
+            book.setDateAdded(added.plusMinutes(i));
+            books.add(book);
+        }
+        store.insertBooks(USER_ID, books);
+        return new EmbeddedShelfFixture(directory, store);
+    }
+
+    public BookRepository repository() {
+        return repository;
+    }
+
+    /**
+     * Menutup store lalu menghapus folder sementara
+     */
+    @Override
+    public void close() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bookshelf.database;
+
+import com.bookshelf.bench.InMemoryResultSet;
+import com.bookshelf.model.Book;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH untuk jalur panas BookDAO yang tidak butuh server MySQL:
+ * mapping ResultSet di memori dan penyusunan SQL pencarian lanjutan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookDAOMappingBenchmark {
+
+    // Sama dengan ukuran rak contoh pada harness di bench/
+    private static final int SHELF_SIZE = 1_000;
+
+    private ResultSet singleRow;
+    private ResultSet shelf;
+
+    @Setup
+    public void createResultSets() {
+        singleRow = InMemoryResultSet.create(InMemoryResultSet.BOOK_COLUMNS, InMemoryResultSet.bookRows(1));
+        shelf = InMemoryResultSet.create(InMemoryResultSet.BOOK_COLUMNS, InMemoryResultSet.bookRows(SHELF_SIZE));
+    }
+
+    @Benchmark
+    public Book mapResultSetToBook() throws SQLException {
+        singleRow.beforeFirst();
+        singleRow.next();
+        return BookDAO.mapResultSetToBook(singleRow);
+    }
+
+    @Benchmark
+    public List<Book> mapShelfToSummaries() throws SQLException {
+        shelf.beforeFirst();
+        List<Book> books = new ArrayList<>();
+        while (shelf.next()) {
+            books.add(BookDAO.mapResultSetToSummary(shelf));
+        }
+        return books;
+    }
+
+    @Benchmark
+    public String buildFilterQueryAllFilters() {
+        return BookDAO.buildFilterQuery(1, "java", "Programming", "Read", 4.0, new ArrayList<>());
+    }
+}
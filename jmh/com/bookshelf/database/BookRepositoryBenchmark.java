@@ -0,0 +1,59 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark JMH untuk query rak getBooksByUserId terhadap EmbeddedBookRepository
+ * (tanpa server MySQL), dengan beberapa ukuran rak.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int shelfSize;
+
+    private EmbeddedShelfFixture fixture;
+    private BookRepository repository;
+
+    @Setup(Level.Trial)
+    public void openShelf() throws IOException {
+        fixture = EmbeddedShelfFixture.open(shelfSize);
+        repository = fixture.repository();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeShelf() throws IOException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Book> getBooksByUserId() {
+        return repository.getBooksByUserId();
+    }
+
+    @Benchmark
+    public int[] getBookIdsByUserId() {
+        return repository.getBookIdsByUserId();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Versi asinkron dari BookRepository: setiap query dijalankan di thread pool khusus database
+ * sehingga Event Dispatch Thread Swing tidak ikut menunggu JDBC.
+ * Future yang dibatalkan sebelum query dimulai tidak akan menjalankan query sama sekali.
+ */
+public class AsyncBookDAO {
+
+    // Satu pool untuk semua query; ukurannya di bawah ukuran connection pool
+    private static final int THREADS = 4;
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(r, "bookshelf-db-" + threadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final BookRepository bookDAO;
+
+    public AsyncBookDAO(BookRepository bookDAO) {
+        this.bookDAO = bookDAO;
+    }
+
+    public BookRepository getBookDAO() {
+        return bookDAO;
+    }
+
+    /**
+     * Menjalankan operasi DAO apa saja di thread database
+     * @param operation Operasi yang menerima BookRepository dan mengembalikan hasil
+     * @return Future yang selesai dengan hasil operasi; cancel() membatalkan query yang belum berjalan
+     */
+    public <T> CompletableFuture<T> submit(Function<BookRepository, T> operation) {
+        return supply(() -> operation.apply(bookDAO));
+    }
+
+    /**
+     * Menjalankan operasi database apa saja (misalnya UserRepository saat login) di thread database
+     * @param operation Operasi yang boleh melempar exception (misal SQLException)
+     * @return Future yang selesai dengan hasil operasi, atau gagal dengan exception-nya
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return; // Sudah dibatalkan sebelum sempat berjalan
+            }
+            try {
+                result.complete(operation.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public CompletableFuture<List<Book>> getBooksByUserId() {
+        return submit(BookRepository::getBooksByUserId);
+    }
+
+    public CompletableFuture<int[]> getBookIdsByUserId() {
+        return submit(BookRepository::getBookIdsByUserId);
+    }
+
+    public CompletableFuture<List<Book>> searchBooks(String searchTerm) {
+        return submit(dao -> dao.searchBooks(searchTerm));
+    }
+
+    public CompletableFuture<List<Book>> searchBooksFullText(String searchTerm) {
+        return submit(dao -> dao.searchBooksFullText(searchTerm));
+    }
+
+    public CompletableFuture<Book> getBookById(int id) {
+        return submit(dao -> dao.getBookById(id));
+    }
+
+    public CompletableFuture<Boolean> addBook(Book book) {
+        return submit(dao -> dao.addBook(book));
+    }
+
+    public CompletableFuture<Boolean> updateBook(Book book) {
+        return submit(dao -> dao.updateBook(book));
+    }
+
+    public CompletableFuture<Boolean> deleteBook(int id) {
+        return submit(dao -> dao.deleteBook(id));
+    }
+}
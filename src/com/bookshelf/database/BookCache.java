@@ -0,0 +1,304 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.BookSummary;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache read-through untuk rak buku per user (dipakai oleh BookDAO)
+ * Daftar buku seorang user disimpan setelah query pertama, lalu diperbarui langsung
+ * (write-through) oleh operasi tambah/ubah/hapus sehingga tidak perlu memuat ulang semua buku.
+ * Ukuran maksimum (jumlah buku total) dan TTL bisa diatur lewat system property
+ * "bookshelf.cache.maxBooks" dan "bookshelf.cache.ttlSeconds".
+ * Buku disimpan sebagai BookSummary (tanpa description) agar memori per buku tetap kecil.
+ */
+public class BookCache {
+
+    private static final int DEFAULT_MAX_BOOKS = 50_000;
+    private static final long DEFAULT_TTL_SECONDS = 10 * 60;
+
+    private static BookCache instance;
+
+    private final int maxBooks;
+    private final long ttlMillis;
+
+    // userId -> rak buku; accessOrder = true agar user yang paling lama tidak dipakai dibuang lebih dulu
+    private final LinkedHashMap<Integer, Shelf> shelves = new LinkedHashMap<>(16, 0.75f, true);
+    private int cachedBooks = 0;
+    // userId -> generasi penulisan terakhir; dinaikkan oleh setiap perubahan walaupun rak belum di-cache,
+    // agar hasil query yang dimulai sebelum perubahan itu tidak disimpan (lihat put dengan generation)
+    private final Map<Integer, Long> generations = new HashMap<>();
+    private long lastGeneration = 0;
+    private long clearedGeneration = 0;
+
+    // ===== Statistik cache =====
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+
+    /**
+     * @param maxBooks Jumlah maksimum buku (dari semua user) yang disimpan di cache
+     * @param ttlMillis Umur maksimum data rak sebelum dimuat ulang dari database
+     */
+    public BookCache(int maxBooks, long ttlMillis) {
+        this.maxBooks = maxBooks;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Mendapatkan instance tunggal BookCache (pola Singleton)
+     */
+    public static synchronized BookCache getInstance() {
+        if (instance == null) {
+            instance = new BookCache(
+                Integer.getInteger("bookshelf.cache.maxBooks", DEFAULT_MAX_BOOKS),
+                Long.getLong("bookshelf.cache.ttlSeconds", DEFAULT_TTL_SECONDS) * 1000);
+        }
+        return instance;
+    }
+
+    /**
+     * Mengambil salinan daftar buku milik user dari cache
+     * @param userId ID user
+     * @return List salinan buku, atau null jika tidak ada di cache / sudah kedaluwarsa
+     */
+    public synchronized List<Book> get(int userId) {
+        Shelf shelf = shelves.get(userId);
+        if (shelf != null && isExpired(shelf)) {
+            removeShelf(userId);
+            expirations++;
+            shelf = null;
+        }
+        if (shelf == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        List<Book> copy = new ArrayList<>(shelf.books.size());
+        for (Book book : shelf.books.values()) {
+            copy.add(new BookSummary(book));
+        }
+        return copy;
+    }
+
+    /**
+     * Mengambil salinan satu buku dari cache tanpa memengaruhi statistik hit/miss
+     * @return Salinan buku, atau null jika tidak ada di cache
+     */
+    public synchronized Book getBook(int userId, int bookId) {
+        Book cached = findBook(userId, bookId);
+        return cached != null ? new BookSummary(cached) : null;
+    }
+
+    /**
+     * Generasi rak user saat ini; baca sebelum query lalu berikan ke put(userId, books, generation)
+     */
+    public synchronized long generation(int userId) {
+        return Math.max(generations.getOrDefault(userId, 0L), clearedGeneration);
+    }
+
+    /**
+     * Menyimpan hasil query hanya jika tidak ada perubahan rak user sejak generasi dibaca
+     * @return false jika hasil query sudah usang dan tidak disimpan
+     */
+    public synchronized boolean put(int userId, List<Book> books, long generation) {
+        if (generation(userId) != generation) {
+            return false; // Ada penulisan selama query berjalan, hasilnya mungkin tidak memuatnya
+        }
+        put(userId, books);
+        return true;
+    }
+
+    /**
+     * Menyimpan daftar buku user hasil query ke cache (urutan list dipertahankan)
+     */
+    public synchronized void put(int userId, List<Book> books) {
+        if (books.size() > maxBooks) {
+            return; // Rak terlalu besar untuk di-cache
+        }
+        removeShelf(userId);
+        Shelf shelf = new Shelf();
+        for (Book book : books) {
+            shelf.books.put(book.getId(), new BookSummary(book));
+        }
+        shelves.put(userId, shelf);
+        cachedBooks += shelf.books.size();
+        evictIfNeeded(userId);
+    }
+
+    /**
+     * Menambahkan buku baru ke rak user yang sudah ada di cache
+     */
+    public synchronized void addBook(int userId, Book book) {
+        bump(userId);
+        Shelf shelf = shelves.get(userId);
+        if (shelf != null && shelf.books.put(book.getId(), new BookSummary(book)) == null) {
+            cachedBooks++;
+            evictIfNeeded(userId);
+        }
+    }
+
+    /**
+     * Mengganti data buku di cache dengan versi terbaru
+     */
+    public synchronized void updateBook(int userId, Book book) {
+        bump(userId);
+        Shelf shelf = shelves.get(userId);
+        if (shelf != null && shelf.books.containsKey(book.getId())) {
+            shelf.books.put(book.getId(), new BookSummary(book));
+        }
+    }
+
+    /**
+     * Memperbarui rating buku di cache
+     */
+    public synchronized void updateRating(int userId, int bookId, double rating) {
+        bump(userId);
+        Book cached = findBook(userId, bookId);
+        if (cached != null) {
+            cached.setRating(rating);
+        }
+    }
+
+    /**
+     * Memperbarui status buku di cache
+     */
+    public synchronized void updateStatus(int userId, int bookId, String status) {
+        bump(userId);
+        Book cached = findBook(userId, bookId);
+        if (cached != null) {
+            cached.setStatus(status);
+        }
+    }
+
+    /**
+     * Menghapus buku dari rak user di cache
+     */
+    public synchronized void removeBook(int userId, int bookId) {
+        bump(userId);
+        Shelf shelf = shelves.get(userId);
+        if (shelf != null && shelf.books.remove(bookId) != null) {
+            cachedBooks--;
+        }
+    }
+
+    /**
+     * Membuang rak user dari cache sehingga query berikutnya membaca ulang dari database
+     */
+    public synchronized void invalidate(int userId) {
+        bump(userId);
+        removeShelf(userId);
+    }
+
+    /**
+     * Membuang semua isi cache
+     */
+    public synchronized void clear() {
+        shelves.clear();
+        cachedBooks = 0;
+        generations.clear();
+        clearedGeneration = ++lastGeneration;
+    }
+
+    private void bump(int userId) {
+        generations.put(userId, ++lastGeneration);
+    }
+
+    private Book findBook(int userId, int bookId) {
+        Shelf shelf = shelves.get(userId);
+        return shelf != null ? shelf.books.get(bookId) : null;
+    }
+
+    private boolean isExpired(Shelf shelf) {
+        return System.currentTimeMillis() - shelf.loadedAt > ttlMillis;
+    }
+
+    private void removeShelf(int userId) {
+        Shelf removed = shelves.remove(userId);
+        if (removed != null) {
+            cachedBooks -= removed.books.size();
+        }
+    }
+
+    /**
+     * Membuang rak yang paling lama tidak dipakai sampai jumlah buku di bawah batas.
+     * Rak milik user yang baru saja diubah tidak ikut dibuang.
+     */
+    private void evictIfNeeded(int keepUserId) {
+        Iterator<Map.Entry<Integer, Shelf>> it = shelves.entrySet().iterator();
+        while (cachedBooks > maxBooks && it.hasNext()) {
+            Map.Entry<Integer, Shelf> eldest = it.next();
+            if (eldest.getKey() == keepUserId) {
+                continue;
+            }
+            cachedBooks -= eldest.getValue().books.size();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // ===== Statistik =====
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized int getCachedBookCount() {
+        return cachedBooks;
+    }
+
+    /**
+     * Perkiraan kasar memori yang dipakai isi cache (dalam byte)
+     */
+    public synchronized long getEstimatedMemoryBytes() {
+        long bytes = 0;
+        for (Shelf shelf : shelves.values()) {
+            for (Book book : shelf.books.values()) {
+                bytes += estimateSize(book);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateSize(Book book) {
+        // Objek Book + entri map + dua LocalDateTime, ditambah isi string
+        long size = 96 + 48 + 2 * 72;
+        size += estimateSize(book.getTitle());
+        size += estimateSize(book.getAuthor());
+        size += estimateSize(book.getIsbn());
+        size += estimateSize(book.getGenre());
+        size += estimateSize(book.getDescription());
+        size += estimateSize(book.getStatus());
+        return size;
+    }
+
+    private static long estimateSize(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    /**
+     * Ringkasan statistik cache dalam bentuk string terformat
+     */
+    public synchronized String getStats() {
+        return String.format(
+            "Book cache: %d user, %d buku (maks %d), ~%.1f KB%n" +
+            "Hit %d, miss %d (hit rate %.1f%%), evicted %d, expired %d",
+            shelves.size(), cachedBooks, maxBooks, getEstimatedMemoryBytes() / 1024.0,
+            hits, misses, getHitRate() * 100, evictions, expirations);
+    }
+
+    /**
+     * Rak buku satu user: bookId -> Book, berurutan sesuai hasil query
+     */
+    private static class Shelf {
+        final LinkedHashMap<Integer, Book> books = new LinkedHashMap<>();
+        final long loadedAt = System.currentTimeMillis();
+    }
+}
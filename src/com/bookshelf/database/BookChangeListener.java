@@ -0,0 +1,24 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+
+/**
+ * Listener untuk perubahan data buku yang berhasil ditulis oleh BookDAO
+ * Dipakai komponen yang menyimpan salinan data di memori (index pencarian, tabel, statistik)
+ * agar bisa diperbarui sedikit demi sedikit tanpa memuat ulang seluruh rak.
+ */
+public interface BookChangeListener {
+
+    // Buku baru berhasil ditambahkan (ID sudah terisi)
+    void bookAdded(Book book);
+
+    // Data buku berhasil diperbarui (berisi nilai terbaru)
+    void bookUpdated(Book book);
+
+    // Buku dengan ID tertentu berhasil dihapus
+    void bookRemoved(int bookId);
+
+    // Banyak buku berubah sekaligus (misal impor massal): muat ulang seluruh rak
+    default void shelfChanged() {
+    }
+}
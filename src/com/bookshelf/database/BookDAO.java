@@ -1,61 +1,88 @@
 package com.bookshelf.database;
 
 import com.bookshelf.model.Book;
+import com.bookshelf.model.BookChanges;
+import com.bookshelf.model.BookPage;
+import com.bookshelf.model.BookSummary;
+import com.bookshelf.model.ReadingStats;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Book Data Access Object Implementation for MySQL
  * Kelas ini menangani semua operasi database untuk entitas Book
  */
-public class BookDAO {
+public class BookDAO implements BookRepository {
     
     // Objek untuk mengelola koneksi database
     private DatabaseManager dbManager;
     private int userId;  // Menyimpan userId untuk digunakan dalam query
+    // Cache rak buku per user (dibagi oleh semua instance BookDAO)
+    private BookCache bookCache;
+    // Listener yang diberi tahu setiap kali data buku berhasil diubah
+    private final List<BookChangeListener> listeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+    // Kolom untuk daftar/tabel: semua kecuali description (TEXT), lihat BookSummary
+    static final String SUMMARY_COLUMNS =
+            "id, title, author, isbn, genre, publication_year, pages, rating, status, date_added, date_updated, user_id";
+    // Panjang kata minimum yang diindeks FULLTEXT InnoDB (innodb_ft_min_token_size)
+    private static final int FULLTEXT_MIN_WORD_LENGTH = 3;
+    private static final java.util.regex.Pattern BOOLEAN_SYNTAX =
+            java.util.regex.Pattern.compile("(^|\\s)[+\\-~<>(]|\"|\\*(\\s|$)");
+    // Watermark sinkronisasi delta diambil mundur sekian detik dari jam server untuk menutup
+    // transaksi yang sudah menulis date_updated tetapi belum commit saat perubahan dibaca
+    static final int SYNC_SAFETY_SECONDS = Integer.getInteger("bookshelf.sync.safetySeconds", 5);
+    // Tombstone book_deletions lebih tua dari ini dihapus; watermark yang lebih tua mendapat rak penuh
+    static final int TOMBSTONE_RETENTION_DAYS = Integer.getInteger("bookshelf.sync.tombstoneRetentionDays", 30);
     
 
   // Konstruktor BookDAO untuk menerima userId
   public BookDAO(int userId) {
     this.dbManager = DatabaseManager.getInstance();
     this.userId = userId;  // Menyimpan userId untuk digunakan dalam query
+    this.bookCache = BookCache.getInstance();
 }
 
 // Method untuk mendapatkan buku berdasarkan user_id
 public List<Book> getBooksByUserId() {
-    List<Book> books = new ArrayList<>();
-    String sql = "SELECT * FROM books WHERE user_id = ? ORDER BY date_added ASC";  // Filter berdasarkan user_id
-    
-    try (Connection conn = dbManager.getConnection();
-         PreparedStatement pstmt = conn.prepareStatement(sql)) {
-        
-        pstmt.setInt(1, userId);  // Menggunakan user_id untuk memfilter buku
-        ResultSet rs = pstmt.executeQuery();
-        
-        while (rs.next()) {
-            books.add(new Book(
-                rs.getInt("id"),
-                rs.getString("title"),
-                rs.getString("author"),
-                rs.getString("isbn"),
-                rs.getString("genre"),
-                rs.getInt("publication_year"),
-                rs.getInt("pages"),
-                rs.getString("description"),
-                rs.getDouble("rating"),
-                rs.getString("status"),
-                rs.getTimestamp("date_added").toLocalDateTime(),
-                rs.getTimestamp("date_updated").toLocalDateTime(),
-                rs.getInt("user_id")
-            ));            
-        }
-    } catch (SQLException e) {
-        e.printStackTrace();
-    }
-    return books;
+    return getBooksByUserId(userId);
 }
+
+    /**
+     * Mendaftarkan listener perubahan data buku
+     */
+    public void addChangeListener(BookChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(BookChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Helper untuk memberi tahu listener bahwa buku diperbarui.
+     * Data terbaru diambil dari cache, atau dari database jika tidak ada di cache.
+     */
+    private void fireBookUpdated(int bookId) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Book book = bookCache.getBook(userId, bookId);
+        if (book == null) {
+            book = getBookById(bookId);
+        }
+        if (book != null) {
+            for (BookChangeListener listener : listeners) {
+                listener.bookUpdated(book);
+            }
+        }
+    }
     
     
     /**
@@ -67,7 +94,7 @@ public List<Book> getBooksByUserId() {
 
         String query = "INSERT INTO books (title, author, isbn, genre, publication_year, pages, description, rating, status, date_added, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = dbManager.getConnection(); 
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, book.getTitle());
             stmt.setString(2, book.getAuthor());
             stmt.setString(3, book.getIsbn());
@@ -79,13 +106,97 @@ public List<Book> getBooksByUserId() {
             stmt.setString(9, book.getStatus());
             stmt.setTimestamp(10, Timestamp.valueOf(book.getDateAdded()));
             stmt.setInt(11, this.userId);  // Pastikan user_id di-set dengan benar
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
+            
+            // Ambil ID yang dibuat database lalu tambahkan buku ke cache
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    book.setId(keys.getInt(1));
+                    book.setUserId(this.userId);
+                    bookCache.addBook(this.userId, book);
+                    for (BookChangeListener listener : listeners) {
+                        listener.bookAdded(book);
+                    }
+                } else {
+                    bookCache.invalidate(this.userId);
+                    for (BookChangeListener listener : listeners) {
+                        listener.shelfChanged();
+                    }
+                }
+            }
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
         
+    /**
+     * CREATE - Menambah banyak buku sekaligus dalam satu transaksi (dipakai impor massal)
+     * Memakai addBatch/executeBatch; dengan rewriteBatchedStatements driver menggabungkannya
+     * menjadi INSERT multi-baris. Cache rak user dibuang, listener tidak diberi tahu
+     * (panggil notifyShelfChanged setelah semua batch selesai).
+     * @param books Buku yang sudah divalidasi
+     * @return Jumlah buku yang berhasil ditambahkan
+     * @throws SQLException jika batch gagal (seluruh batch di-rollback)
+     */
+    public int addBooksBatch(List<Book> books) throws SQLException {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        String query = "INSERT INTO books (title, author, isbn, genre, publication_year, pages, description, rating, status, date_added, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = dbManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = prepareBatchInsert(conn, query)) {
+                for (Book book : books) {
+                    stmt.setString(1, book.getTitle());
+                    stmt.setString(2, book.getAuthor());
+                    stmt.setString(3, book.getIsbn());
+                    stmt.setString(4, book.getGenre());
+                    stmt.setInt(5, book.getPublicationYear());
+                    stmt.setInt(6, book.getPages());
+                    stmt.setString(7, book.getDescription());
+                    stmt.setDouble(8, book.getRating());
+                    stmt.setString(9, book.getStatus());
+                    stmt.setTimestamp(10, Timestamp.valueOf(book.getDateAdded()));
+                    stmt.setInt(11, this.userId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                bookCache.invalidate(this.userId);
+            }
+        }
+        return books.size();
+    }
+
+    /**
+     * Rewrite batch menjadi INSERT multi-baris hanya dilakukan Connector/J untuk
+     * client-side prepared statement, sedangkan koneksi memakai useServerPrepStmts=true
+     */
+    private static PreparedStatement prepareBatchInsert(Connection conn, String query) throws SQLException {
+        if (conn.isWrapperFor(com.mysql.cj.jdbc.JdbcConnection.class)) {
+            return conn.unwrap(com.mysql.cj.jdbc.JdbcConnection.class).clientPrepareStatement(query);
+        }
+        return conn.prepareStatement(query);
+    }
+
+    /**
+     * Memberi tahu listener bahwa banyak buku berubah sekaligus (misal setelah impor massal)
+     */
+    public void notifyShelfChanged() {
+        bookCache.invalidate(this.userId);
+        for (BookChangeListener listener : listeners) {
+            listener.shelfChanged();
+        }
+    }
+
     /**
      * READ - Mengambil buku berdasarkan ID
      * @param id ID buku
@@ -119,18 +230,27 @@ public List<Book> getBooksByUserId() {
      */
     // Menambahkan method untuk mengambil buku berdasarkan user_id
     public List<Book> getBooksByUserId(int userId) {
+        // Read-through: pakai cache jika rak user sudah pernah dimuat
+        List<Book> cached = bookCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Dibaca sebelum query: penulisan dari thread lain selama query membuat hasilnya tidak di-cache
+        long generation = bookCache.generation(userId);
         List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books WHERE user_id = ? ORDER BY date_added ASC";
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? ORDER BY date_added ASC";
         
         try (Connection conn = dbManager.getConnection();
             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, userId);  // Menggunakan user_id untuk memfilter buku
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                books.add(mapResultSetToBook(rs)); // Menambahkan buku ke list
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    books.add(mapResultSetToSummary(rs)); // Menambahkan buku ke list
+                }
             }
+            bookCache.put(userId, books, generation);
         } catch (SQLException e) {
             System.err.println("Error getting books by user_id: " + e.getMessage());
             e.printStackTrace();
@@ -138,6 +258,255 @@ public List<Book> getBooksByUserId() {
         return books;
     }
 
+    /**
+     * READ - Membaca ID, judul, dan penulis semua buku milik user secara streaming (index fuzzy rak besar)
+     * @param consumer Dipanggil untuk setiap buku
+     * @return Jumlah buku yang dibaca
+     * @throws SQLException jika query gagal
+     */
+    public int streamTitlesAndAuthors(TitleAuthorConsumer consumer) throws SQLException {
+        String sql = "SELECT id, title, author FROM books WHERE user_id = ?";
+        int count = 0;
+
+        // Sama seperti streamBooksByUserId: di luar statement cache agar fetch size streaming tidak terbawa
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            pstmt.setInt(1, userId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getInt(1), rs.getString(2), rs.getString(3));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * READ - Membaca semua buku milik user satu per satu tanpa menyimpannya di list (untuk ekspor)
+     * ResultSet forward-only dengan fetch size Integer.MIN_VALUE membuat Connector/J
+     * men-stream baris dari server, sehingga memori yang dipakai tetap walaupun rak sangat besar.
+     * Selama streaming, koneksi ini tidak bisa dipakai query lain (koneksi dipinjam khusus dari pool).
+     * @param consumer Dipanggil untuk setiap buku, urutan sama dengan getBooksByUserId
+     * @return Jumlah buku yang dibaca
+     * @throws SQLException jika query gagal
+     */
+    public int streamBooksByUserId(java.util.function.Consumer<Book> consumer) throws SQLException {
+        String sql = "SELECT * FROM books WHERE user_id = ? ORDER BY date_added ASC, id ASC";
+        int count = 0;
+
+        // Varian prepareStatement dengan tipe ResultSet tidak masuk statement cache,
+        // sehingga fetch size khusus streaming tidak terbawa ke query lain
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            pstmt.setInt(1, userId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToBook(rs));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * UTILITY - Menghitung jumlah buku milik user
+     * @return Jumlah buku di rak user
+     */
+    public int getBooksCountByUserId() {
+        return readUserCounter("total");
+    }
+
+    /**
+     * READ - Mengambil perubahan rak user sejak watermark (sinkronisasi delta)
+     * @param watermark Watermark dari hasil sebelumnya, atau null untuk seluruh rak
+     * @return Buku yang ditambah/diubah dan tombstone buku yang dihapus
+     */
+    public BookChanges getChangesSince(LocalDateTime watermark) {
+        return getChangesSince(userId, watermark);
+    }
+
+    /**
+     * READ - Mengambil perubahan rak user sejak watermark (sinkronisasi delta)
+     * Buku dibaca lewat index (user_id, date_updated), tombstone dari book_deletions (trigger, migrasi V8).
+     * Watermark berikutnya adalah jam server saat pembacaan dimulai dikurangi SYNC_SAFETY_SECONDS, bukan
+     * date_updated terbesar yang terlihat, agar baris dari transaksi yang commit belakangan tidak terlewat.
+     * Watermark yang lebih tua dari TOMBSTONE_RETENTION_DAYS mendapat rak penuh karena tombstone-nya
+     * sudah dipangkas. Hasil juga diterapkan ke BookCache.
+     * @param userId ID user
+     * @param watermark Watermark dari hasil sebelumnya, atau null untuk seluruh rak
+     * @return Buku yang ditambah/diubah dan tombstone; jika gagal, perubahan kosong dengan watermark yang sama
+     */
+    public BookChanges getChangesSince(int userId, LocalDateTime watermark) {
+        List<Book> upserted = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        LocalDateTime since = watermark;
+        LocalDateTime next;
+        long generation = bookCache.generation(userId);
+        
+        try (Connection conn = dbManager.getConnection()) {
+            // Jam server dibaca di koneksi yang sama sebelum query perubahan
+            LocalDateTime retentionCutoff;
+            String clockSql = "SELECT NOW() - INTERVAL ? SECOND, NOW() - INTERVAL ? DAY";
+            try (PreparedStatement pstmt = conn.prepareStatement(clockSql)) {
+                pstmt.setInt(1, SYNC_SAFETY_SECONDS);
+                pstmt.setInt(2, TOMBSTONE_RETENTION_DAYS);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    rs.next();
+                    next = rs.getTimestamp(1).toLocalDateTime();
+                    retentionCutoff = rs.getTimestamp(2).toLocalDateTime();
+                }
+            }
+            if (since != null && since.isBefore(retentionCutoff)) {
+                since = null;
+            }
+            
+            String booksSql = since == null
+                    ? "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? ORDER BY date_added ASC"
+                    : "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? AND date_updated >= ? ORDER BY date_updated, id";
+            try (PreparedStatement pstmt = conn.prepareStatement(booksSql)) {
+                pstmt.setInt(1, userId);
+                if (since != null) {
+                    pstmt.setTimestamp(2, Timestamp.valueOf(since));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        upserted.add(mapResultSetToSummary(rs));
+                    }
+                }
+            }
+            
+            // Tanpa watermark seluruh rak sudah terkirim, tombstone tidak diperlukan
+            if (since != null) {
+                String deletionsSql = "SELECT book_id FROM book_deletions WHERE user_id = ? AND deleted_at >= ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(deletionsSql)) {
+                    pstmt.setInt(1, userId);
+                    pstmt.setTimestamp(2, Timestamp.valueOf(since));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            deletedIds.add(rs.getInt("book_id"));
+                        }
+                    }
+                }
+            }
+            
+            // Pangkas tombstone yang tidak lagi dibutuhkan watermark mana pun (index user_id, deleted_at)
+            String pruneSql = "DELETE FROM book_deletions WHERE user_id = ? AND deleted_at < ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(pruneSql)) {
+                pstmt.setInt(1, userId);
+                pstmt.setTimestamp(2, Timestamp.valueOf(retentionCutoff));
+                pstmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting changes since " + watermark + ": " + e.getMessage());
+            e.printStackTrace();
+            return new BookChanges(new ArrayList<>(), new ArrayList<>(), watermark, false);
+        }
+        
+        // Cache rak ikut diperbarui agar getBooksByUserId berikutnya melihat perubahan dari klien lain
+        if (since == null) {
+            bookCache.put(userId, upserted, generation);
+        } else {
+            for (Book book : upserted) {
+                if (bookCache.getBook(userId, book.getId()) != null) {
+                    bookCache.updateBook(userId, book);
+                } else {
+                    bookCache.addBook(userId, book);
+                }
+            }
+            for (int bookId : deletedIds) {
+                bookCache.removeBook(userId, bookId);
+            }
+        }
+        return new BookChanges(upserted, deletedIds, next, since == null);
+    }
+
+    /**
+     * READ - Mengambil ID semua buku milik user (urutan sama dengan getBooksByUserId)
+     * Hanya membaca kolom id sehingga ringan walaupun rak berisi ratusan ribu buku.
+     * @return Array ID buku
+     */
+    public int[] getBookIdsByUserId() {
+        String sql = "SELECT id FROM books WHERE user_id = ? ORDER BY date_added ASC, id ASC";
+        int[] ids = new int[256];
+        int count = 0;
+        
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count == ids.length) {
+                        ids = java.util.Arrays.copyOf(ids, ids.length * 2);
+                    }
+                    ids[count++] = rs.getInt(1);
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting book ids: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        return java.util.Arrays.copyOf(ids, count);
+    }
+    
+    /**
+     * READ - Mengambil sekumpulan buku berdasarkan ID, tanpa kolom description
+     * Dipakai tabel lazy untuk memuat satu blok baris sekaligus.
+     * @param ids ID buku yang akan diambil
+     * @return List buku dengan urutan sama seperti ids (ID yang tidak ditemukan dilewati)
+     */
+    public List<Book> getBooksByIds(List<Integer> ids) {
+        List<Book> books = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return books;
+        }
+        
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? AND id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            
+            pstmt.setInt(1, userId);
+            for (int i = 0; i < ids.size(); i++) {
+                pstmt.setInt(i + 2, ids.get(i));
+            }
+            
+            java.util.Map<Integer, Book> byId = new java.util.HashMap<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Book book = mapResultSetToSummary(rs);
+                    byId.put(book.getId(), book);
+                }
+            }
+            for (Integer id : ids) {
+                Book book = byId.get(id);
+                if (book != null) {
+                    books.add(book);
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting books by ids: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        return books;
+    }
     
     /**
      * READ - Cari buku berdasarkan judul, penulis, atau ISBN
@@ -146,25 +515,23 @@ public List<Book> getBooksByUserId() {
      */
     public List<Book> searchBooks(String searchTerm) {
         List<Book> books = new ArrayList<>();
-        String sql = """
-            SELECT * FROM books 
-            WHERE title LIKE ? 
-               OR author LIKE ?
-               OR isbn LIKE ?
-            ORDER BY title
-        """;
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM books"
+                + " WHERE user_id = ?"
+                + " AND (title LIKE ? OR author LIKE ? OR isbn LIKE ?)"
+                + " ORDER BY title";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             String searchPattern = "%" + searchTerm + "%";
-            pstmt.setString(1, searchPattern);
+            pstmt.setInt(1, userId);
             pstmt.setString(2, searchPattern);
             pstmt.setString(3, searchPattern);
+            pstmt.setString(4, searchPattern);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapResultSetToSummary(rs));
                 }
             }
             
@@ -177,22 +544,101 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * READ - Mengambil buku berdasarkan status
+     * READ - Pencarian full-text (index FULLTEXT pada title, author, description)
+     * Hasil diurutkan berdasarkan relevansi. Mendukung sintaks boolean MySQL
+     * (+wajib, -kecuali, "frasa", awalan*); kata biasa otomatis menjadi +kata*.
+     * Kembali ke pencarian LIKE jika kata terlalu pendek, berupa ISBN, atau index belum tersedia.
+     * @param searchTerm Kata kunci pencarian
+     * @return List buku yang cocok, paling relevan lebih dulu
+     */
+    public List<Book> searchBooksFullText(String searchTerm) {
+        String booleanQuery = toBooleanQuery(searchTerm);
+        if (booleanQuery == null) {
+            return searchBooks(searchTerm);
+        }
+        
+        List<Book> books = new ArrayList<>();
+        String sql = "SELECT " + SUMMARY_COLUMNS
+                + ", MATCH(title, author, description) AGAINST (? IN BOOLEAN MODE) AS relevance"
+                + " FROM books"
+                + " WHERE user_id = ?"
+                + " AND MATCH(title, author, description) AGAINST (? IN BOOLEAN MODE)"
+                + " ORDER BY relevance DESC, title";
+        
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, booleanQuery);
+            pstmt.setInt(2, userId);
+            pstmt.setString(3, booleanQuery);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    books.add(mapResultSetToSummary(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            // Misalnya index FULLTEXT belum dibuat: pakai pencarian LIKE biasa
+            System.err.println("Full-text search gagal, memakai LIKE: " + e.getMessage());
+            return searchBooks(searchTerm);
+        }
+        
+        return books;
+    }
+    
+    /**
+     * Helper untuk mengubah input pengguna menjadi query BOOLEAN MODE
+     * @return Query boolean, atau null jika sebaiknya memakai pencarian LIKE
+     */
+    private static String toBooleanQuery(String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return null;
+        }
+        String term = searchTerm.trim();
+        
+        // ISBN tidak masuk index FULLTEXT
+        if (term.matches("[0-9Xx\\-\\s]+")) {
+            return null;
+        }
+        // Pengguna sudah memakai sintaks boolean sendiri (operator di awal kata, frasa, atau awalan*)
+        if (BOOLEAN_SYNTAX.matcher(term).find()) {
+            return term;
+        }
+        
+        StringBuilder query = new StringBuilder();
+        // Tanda baca di dalam kata (misal "sci-fi") akan dibaca sebagai operator, jadi dipisah
+        for (String word : term.split("[^\\p{L}\\p{N}']+")) {
+            // Kata di bawah innodb_ft_min_token_size (default 3) tidak diindeks
+            if (word.length() < FULLTEXT_MIN_WORD_LENGTH) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(word).append('*');
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+    
+    /**
+     * READ - Mengambil buku milik user berdasarkan status
      * @param status Status buku
      * @return List buku dengan status yang ditentukan
      */
     public List<Book> getBooksByStatus(String status) {
         List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books WHERE status = ? ORDER BY title";
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? AND status = ? ORDER BY title";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, status);
+            pstmt.setInt(1, userId);
+            pstmt.setString(2, status);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapResultSetToSummary(rs));
                 }
             }
             
@@ -205,22 +651,23 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * READ - Mengambil buku berdasarkan genre
+     * READ - Mengambil buku milik user berdasarkan genre
      * @param genre Genre buku
      * @return List buku dalam genre yang ditentukan
      */
     public List<Book> getBooksByGenre(String genre) {
         List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books WHERE genre = ? ORDER BY title";
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? AND genre = ? ORDER BY title";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, genre);
+            pstmt.setInt(1, userId);
+            pstmt.setString(2, genre);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapResultSetToSummary(rs));
                 }
             }
             
@@ -233,7 +680,7 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * READ - Pencarian lanjutan dengan beberapa filter
+     * READ - Pencarian lanjutan dengan beberapa filter atas buku milik user
      * @param searchTerm Kata kunci pencarian (boleh null)
      * @param genre Filter genre (boleh null)
      * @param status Filter status (boleh null)
@@ -242,8 +689,48 @@ public List<Book> getBooksByUserId() {
      */
     public List<Book> searchBooksWithFilters(String searchTerm, String genre, String status, Double minRating) {
         List<Book> books = new ArrayList<>();
-        StringBuilder sqlBuilder = new StringBuilder("SELECT * FROM books WHERE 1=1");
         List<Object> params = new ArrayList<>();
+        String sql = buildFilterQuery(userId, searchTerm, genre, status, minRating, params);
+        
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            // Set parameters
+            for (int i = 0; i < params.size(); i++) {
+                Object param = params.get(i);
+                if (param instanceof String) {
+                    pstmt.setString(i + 1, (String) param);
+                } else if (param instanceof Integer) {
+                    pstmt.setInt(i + 1, (Integer) param);
+                } else if (param instanceof Double) {
+                    pstmt.setDouble(i + 1, (Double) param);
+                }
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    books.add(mapResultSetToSummary(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error searching books with filters: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        return books;
+    }
+    
+    /**
+     * UTILITY - Menyusun SQL pencarian lanjutan beserta parameternya
+     * @param userId Pemilik buku (selalu menjadi kolom pertama index komposit)
+     * @param params List yang diisi nilai parameter sesuai urutan tanda ?
+     * @return SQL dengan placeholder
+     */
+    static String buildFilterQuery(int userId, String searchTerm, String genre, String status, Double minRating,
+                                   List<Object> params) {
+        StringBuilder sqlBuilder = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ?");
+        params.add(userId);
         
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
             sqlBuilder.append(" AND (title LIKE ? OR author LIKE ? OR isbn LIKE ?)");
@@ -269,32 +756,7 @@ public List<Book> getBooksByUserId() {
         }
         
         sqlBuilder.append(" ORDER BY title");
-        
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sqlBuilder.toString())) {
-            
-            // Set parameters
-            for (int i = 0; i < params.size(); i++) {
-                Object param = params.get(i);
-                if (param instanceof String) {
-                    pstmt.setString(i + 1, (String) param);
-                } else if (param instanceof Double) {
-                    pstmt.setDouble(i + 1, (Double) param);
-                }
-            }
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
-                }
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error searching books with filters: " + e.getMessage());
-            e.printStackTrace();
-        }
-        
-        return books;
+        return sqlBuilder.toString();
     }
     
     /**
@@ -330,6 +792,10 @@ public List<Book> getBooksByUserId() {
             
             if (rowsAffected > 0) {
                 System.out.println("Book updated successfully: " + book.getTitle());
+                bookCache.updateBook(this.userId, book);
+                for (BookChangeListener listener : listeners) {
+                    listener.bookUpdated(book);
+                }
                 return true;
             }
             
@@ -360,6 +826,10 @@ public List<Book> getBooksByUserId() {
             pstmt.setInt(2, bookId);
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                bookCache.updateRating(this.userId, bookId, rating);
+                fireBookUpdated(bookId);
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -386,6 +856,10 @@ public List<Book> getBooksByUserId() {
             pstmt.setInt(2, bookId);
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                bookCache.updateStatus(this.userId, bookId, status);
+                fireBookUpdated(bookId);
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -413,6 +887,10 @@ public List<Book> getBooksByUserId() {
             
             if (rowsAffected > 0) {
                 System.out.println("Book deleted successfully (ID: " + id + ")");
+                bookCache.removeBook(this.userId, id);
+                for (BookChangeListener listener : listeners) {
+                    listener.bookRemoved(id);
+                }
                 return true;
             }
             
@@ -425,15 +903,16 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * UTILITY - Mengambil total jumlah buku
+     * UTILITY - Mengambil total jumlah buku (semua user)
+     * Dijumlahkan dari user_book_stats (satu baris per user), bukan COUNT(*) atas books
      * @return Total jumlah buku
      */
     public int getTotalBooksCount() {
-        String sql = "SELECT COUNT(*) as total FROM books";
+        String sql = "SELECT COALESCE(SUM(total), 0) as total FROM user_book_stats";
         
         try (Connection conn = dbManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt("total");
@@ -448,26 +927,41 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * UTILITY - Mengambil jumlah buku berdasarkan status
+     * UTILITY - Mengambil jumlah buku milik user berdasarkan status
      * @param status Status buku
      * @return Jumlah buku dengan status yang ditentukan
      */
     public int getBooksCountByStatus(String status) {
-        String sql = "SELECT COUNT(*) as count FROM books WHERE status = ?";
+        if (Book.STATUS_WANT_TO_READ.equals(status)) {
+            return readUserCounter("want_to_read");
+        } else if (Book.STATUS_READING.equals(status)) {
+            return readUserCounter("reading");
+        } else if (Book.STATUS_READ.equals(status)) {
+            return readUserCounter("read_count");
+        }
+        return 0;
+    }
+    
+    /**
+     * Helper untuk membaca satu counter milik user dari user_book_stats (lookup primary key).
+     * Counter dijaga oleh trigger di tabel books, lihat migrasi V7 di SchemaMigrator.
+     * @param column Nama kolom counter (konstanta, bukan input user)
+     */
+    private int readUserCounter(String column) {
+        String sql = "SELECT " + column + " FROM user_book_stats WHERE user_id = ?";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, status);
+            pstmt.setInt(1, userId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("count");
-                }
+                // Belum ada baris berarti user belum pernah menambah buku
+                return rs.next() ? rs.getInt(1) : 0;
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting books count by status: " + e.getMessage());
+            System.err.println("Error reading book counter " + column + ": " + e.getMessage());
             e.printStackTrace();
         }
         
@@ -475,21 +969,25 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * UTILITY - Mengambil semua genre yang unik
+     * UTILITY - Mengambil semua genre yang unik di rak user
      * @return List genre yang unik
      */
     public List<String> getAllGenres() {
         List<String> genres = new ArrayList<>();
-        String sql = "SELECT DISTINCT genre FROM books WHERE genre IS NOT NULL AND genre != '' ORDER BY genre";
+        String sql = "SELECT DISTINCT genre FROM books"
+                + " WHERE user_id = ? AND genre IS NOT NULL AND genre != '' ORDER BY genre";
         
         try (Connection conn = dbManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, userId);
             
-            while (rs.next()) {
-                String genre = rs.getString("genre");
-                if (genre != null && !genre.trim().isEmpty()) {
-                    genres.add(genre);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String genre = rs.getString("genre");
+                    if (genre != null && !genre.trim().isEmpty()) {
+                        genres.add(genre);
+                    }
                 }
             }
             
@@ -502,21 +1000,24 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * UTILITY - Mengambil semua penulis yang unik
+     * UTILITY - Mengambil semua penulis yang unik di rak user
      * @return List penulis yang unik
      */
     public List<String> getAllAuthors() {
         List<String> authors = new ArrayList<>();
-        String sql = "SELECT DISTINCT author FROM books WHERE author IS NOT NULL ORDER BY author";
+        String sql = "SELECT DISTINCT author FROM books WHERE user_id = ? AND author IS NOT NULL ORDER BY author";
         
         try (Connection conn = dbManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            while (rs.next()) {
-                String author = rs.getString("author");
-                if (author != null && !author.trim().isEmpty()) {
-                    authors.add(author);
+            pstmt.setInt(1, userId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String author = rs.getString("author");
+                    if (author != null && !author.trim().isEmpty()) {
+                        authors.add(author);
+                    }
                 }
             }
             
@@ -597,20 +1098,23 @@ public List<Book> getBooksByUserId() {
      * @param offset Posisi awal (0-based)
      * @param limit Jumlah buku yang akan diambil
      * @return List buku untuk halaman yang ditentukan
+     * @deprecated OFFSET makin lambat di halaman yang dalam, gunakan {@link #getBooksPage(BookPage.Sort, String, int)}
      */
+    @Deprecated
     public List<Book> getBooksWithPagination(int offset, int limit) {
         List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books ORDER BY date_added DESC LIMIT ? OFFSET ?";
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? ORDER BY date_added DESC LIMIT ? OFFSET ?";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, limit);
-            pstmt.setInt(2, offset);
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, limit);
+            pstmt.setInt(3, offset);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapResultSetToSummary(rs));
                 }
             }
             
@@ -622,23 +1126,153 @@ public List<Book> getBooksByUserId() {
         return books;
     }
     
+    // Dipakai juga oleh EmbeddedBookRepository agar aturan limit sama di kedua backend
+    static void checkPageLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit halaman minimal 1: " + limit);
+        }
+    }
+
     /**
-     * UTILITY - Mengambil buku dengan rating tertinggi
+     * UTILITY - Paginasi keyset (seek) untuk buku milik user
+     * Posisi halaman disimpan dalam cursor (nilai kolom urutan + id dari baris terakhir),
+     * sehingga query selalu mulai dari index dan tidak perlu melewati baris seperti OFFSET.
+     * @param sort Urutan daftar buku
+     * @param cursor Token dari halaman sebelumnya, atau null untuk halaman pertama
+     * @param limit Jumlah buku per halaman (minimal 1)
+     * @return Halaman buku beserta cursor halaman berikutnya
+     * @throws IllegalArgumentException jika limit kurang dari 1, atau cursor tidak valid/dibuat untuk urutan lain
+     */
+    public BookPage getBooksPage(BookPage.Sort sort, String cursor, int limit) {
+        checkPageLimit(limit);
+        String[] position = cursor != null ? decodeCursor(sort, cursor) : null;
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ?");
+        
+        switch (sort) {
+            case TITLE:
+                if (position != null) {
+                    sql.append(" AND (title > ? OR (title = ? AND id > ?))");
+                }
+                sql.append(" ORDER BY title ASC, id ASC");
+                break;
+            case RATING:
+                if (position != null) {
+                    sql.append(" AND (rating < ? OR (rating = ? AND id < ?))");
+                }
+                sql.append(" ORDER BY rating DESC, id DESC");
+                break;
+            default:
+                if (position != null) {
+                    sql.append(" AND (date_added < ? OR (date_added = ? AND id < ?))");
+                }
+                sql.append(" ORDER BY date_added DESC, id DESC");
+                break;
+        }
+        sql.append(" LIMIT ?");
+        
+        List<Book> books = new ArrayList<>();
+        boolean hasMore = false;
+        
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            
+            int index = 1;
+            pstmt.setInt(index++, userId);
+            if (position != null) {
+                for (int i = 0; i < 2; i++) {
+                    switch (sort) {
+                        case TITLE:
+                            pstmt.setString(index++, position[0]);
+                            break;
+                        case RATING:
+                            pstmt.setBigDecimal(index++, new java.math.BigDecimal(position[0]));
+                            break;
+                        default:
+                            pstmt.setTimestamp(index++, new Timestamp(Long.parseLong(position[0])));
+                            break;
+                    }
+                }
+                pstmt.setInt(index++, Integer.parseInt(position[1]));
+            }
+            // Ambil satu baris ekstra untuk mengetahui apakah masih ada halaman berikutnya
+            pstmt.setInt(index, limit + 1);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (books.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    books.add(mapResultSetToSummary(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting books page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        String nextCursor = hasMore ? encodeCursor(sort, books.get(books.size() - 1)) : null;
+        return new BookPage(books, nextCursor);
+    }
+    
+    /**
+     * Helper untuk membuat cursor dari baris terakhir sebuah halaman
+     */
+    static String encodeCursor(BookPage.Sort sort, Book last) {
+        String value;
+        switch (sort) {
+            case TITLE:
+                value = last.getTitle();
+                break;
+            case RATING:
+                value = java.math.BigDecimal.valueOf(last.getRating()).toPlainString();
+                break;
+            default:
+                value = String.valueOf(Timestamp.valueOf(last.getDateAdded()).getTime());
+                break;
+        }
+        String raw = sort.name() + "|" + last.getId() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Helper untuk membaca cursor: mengembalikan {nilai kolom urutan, id}
+     */
+    static String[] decodeCursor(BookPage.Sort sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Nilai kolom urutan diletakkan terakhir karena judul bisa mengandung '|'
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor tidak cocok dengan urutan " + sort);
+            }
+            Integer.parseInt(parts[1]);
+            return new String[] { parts[2], parts[1] };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor paginasi tidak valid: " + cursor, e);
+        }
+    }
+    
+    /**
+     * UTILITY - Mengambil buku milik user dengan rating tertinggi
      * @param limit Jumlah buku yang akan diambil
      * @return List buku dengan rating tertinggi
      */
     public List<Book> getTopRatedBooks(int limit) {
         List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books WHERE rating > 0 ORDER BY rating DESC, title ASC LIMIT ?";
+        String sql = "SELECT " + SUMMARY_COLUMNS
+                + " FROM books WHERE user_id = ? AND rating > 0 ORDER BY rating DESC, title ASC LIMIT ?";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, limit);
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, limit);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapResultSetToSummary(rs));
                 }
             }
             
@@ -651,22 +1285,23 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * UTILITY - Mengambil buku yang baru ditambahkan
+     * UTILITY - Mengambil buku milik user yang baru ditambahkan
      * @param limit Jumlah buku yang akan diambil
      * @return List buku yang baru ditambahkan
      */
     public List<Book> getRecentlyAddedBooks(int limit) {
         List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books ORDER BY date_added DESC LIMIT ?";
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM books WHERE user_id = ? ORDER BY date_added DESC LIMIT ?";
         
         try (Connection conn = dbManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, limit);
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, limit);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapResultSetToSummary(rs));
                 }
             }
             
@@ -679,60 +1314,62 @@ public List<Book> getBooksByUserId() {
     }
     
     /**
-     * UTILITY - Mengambil statistik membaca
+     * UTILITY - Mengambil statistik membaca milik user
      * @return Statistik membaca dalam bentuk string terformat
      */
     public String getReadingStatistics() {
-        StringBuilder stats = new StringBuilder();
-        
-        try (Connection conn = dbManager.getConnection();
-             Statement stmt = conn.createStatement()) {
-            
-            // Total buku dan berdasarkan status
-            try (ResultSet rs = stmt.executeQuery("""
-                SELECT 
-                    COUNT(*) as total,
-                    SUM(CASE WHEN status = 'Read' THEN 1 ELSE 0 END) as read_count,
-                    SUM(CASE WHEN status = 'Reading' THEN 1 ELSE 0 END) as reading_count,
-                    SUM(CASE WHEN status = 'Want to Read' THEN 1 ELSE 0 END) as want_to_read_count,
-                    AVG(CASE WHEN rating > 0 THEN rating ELSE NULL END) as avg_rating,
-                    SUM(pages) as total_pages
-                FROM books
-                """)) {
-                
-                if (rs.next()) {
-                    stats.append("📚 Statistik Membaca:\n");
-                    stats.append("Total Buku: ").append(rs.getInt("total")).append("\n");
-                    stats.append("Sudah Dibaca: ").append(rs.getInt("read_count")).append("\n");
-                    stats.append("Sedang Dibaca: ").append(rs.getInt("reading_count")).append("\n");
-                    stats.append("Ingin Dibaca: ").append(rs.getInt("want_to_read_count")).append("\n");
-                    stats.append("Rating Rata-rata: ").append(String.format("%.1f", rs.getDouble("avg_rating"))).append("/5.0\n");
-                    stats.append("Total Halaman: ").append(String.format("%,d", rs.getInt("total_pages"))).append("\n");
-                }
-            }
-            
-            // Genre teratas
-            try (ResultSet rs = stmt.executeQuery("""
-                SELECT genre, COUNT(*) as count 
-                FROM books 
-                WHERE genre IS NOT NULL AND genre != '' 
-                GROUP BY genre 
-                ORDER BY count DESC 
-                LIMIT 5
-                """)) {
-                
-                stats.append("\n📊 Genre Teratas:\n");
-                while (rs.next()) {
-                    stats.append("- ").append(rs.getString("genre"))
-                         .append(": ").append(rs.getInt("count")).append(" buku\n");
+        return getReadingStats().format();
+    }
+
+    /**
+     * UTILITY - Statistik membaca milik user tanpa memuat rak:
+     * jumlah per status, rating, dan halaman dibaca dari counter user_book_stats, genre teratas dari
+     * counter user_genre_stats (keduanya dijaga trigger, lihat migrasi V7 dan V10; dibaca lewat primary key)
+     * @return Snapshot statistik (kosong jika query gagal)
+     */
+    public ReadingStats getReadingStats() {
+        String countersSql = "SELECT total, want_to_read, reading, read_count, rated, rating_sum, total_pages "
+                + "FROM user_book_stats WHERE user_id = ?";
+        String genresSql = "SELECT genre, book_count FROM user_genre_stats "
+                + "WHERE user_id = ? AND book_count > 0 ORDER BY book_count DESC, genre LIMIT ?";
+
+        int total = 0;
+        Map<String, Integer> byStatus = new HashMap<>();
+        double averageRating = 0.0;
+        long totalPages = 0;
+        Map<String, Integer> topGenres = new LinkedHashMap<>();
+
+        try (Connection conn = dbManager.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(countersSql)) {
+                pstmt.setInt(1, userId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    // Belum ada baris berarti user belum pernah menambah buku
+                    if (rs.next()) {
+                        total = rs.getInt("total");
+                        byStatus.put(Book.STATUS_WANT_TO_READ, rs.getInt("want_to_read"));
+                        byStatus.put(Book.STATUS_READING, rs.getInt("reading"));
+                        byStatus.put(Book.STATUS_READ, rs.getInt("read_count"));
+                        int rated = rs.getInt("rated");
+                        averageRating = rated > 0 ? rs.getBigDecimal("rating_sum").doubleValue() / rated : 0.0;
+                        totalPages = rs.getLong("total_pages");
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(genresSql)) {
+                pstmt.setInt(1, userId);
+                pstmt.setInt(2, ReadingStatsService.TOP_GENRES);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        topGenres.put(rs.getString("genre"), rs.getInt("book_count"));
+                    }
                 }
             }
-            
         } catch (SQLException e) {
-            stats.append("Error retrieving statistics: ").append(e.getMessage());
+            System.err.println("Error reading reading statistics: " + e.getMessage());
+            e.printStackTrace();
         }
-        
-        return stats.toString();
+
+        return new ReadingStats(userId, total, byStatus, averageRating, totalPages, topGenres);
     }
     
     /**
@@ -741,9 +1378,24 @@ public List<Book> getBooksByUserId() {
      * @return Objek Book
      * @throws SQLException jika mapping gagal
      */
-    private Book mapResultSetToBook(ResultSet rs) throws SQLException {
+    static Book mapResultSetToBook(ResultSet rs) throws SQLException {
         Book book = new Book();
-        
+        // Diisi sebelum mapColumns karena setDescription ikut menyentuh dateUpdated
+        book.setDescription(rs.getString("description"));
+        return mapColumns(rs, book);
+    }
+    
+    /**
+     * Helper untuk mengubah baris hasil query SUMMARY_COLUMNS menjadi BookSummary (tanpa description)
+     */
+    static BookSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        return mapColumns(rs, new BookSummary());
+    }
+    
+    /**
+     * Mengisi semua kolom kecuali description
+     */
+    private static <T extends Book> T mapColumns(ResultSet rs, T book) throws SQLException {
         book.setId(rs.getInt("id"));
         book.setTitle(rs.getString("title"));
         book.setAuthor(rs.getString("author"));
@@ -751,9 +1403,9 @@ public List<Book> getBooksByUserId() {
         book.setGenre(rs.getString("genre"));
         book.setPublicationYear(rs.getInt("publication_year"));
         book.setPages(rs.getInt("pages"));
-        book.setDescription(rs.getString("description"));
         book.setRating(rs.getBigDecimal("rating").doubleValue());
         book.setStatus(rs.getString("status"));
+        book.setUserId(rs.getInt("user_id"));
         
         // Handle waktu penambahan dan update
         Timestamp dateAdded = rs.getTimestamp("date_added");
@@ -0,0 +1,147 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.BookChanges;
+import com.bookshelf.model.BookPage;
+import com.bookshelf.model.ReadingStats;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Akses data buku milik satu user, terlepas dari media penyimpanannya.
+ * Implementasi: BookDAO (MySQL) dan EmbeddedBookRepository (file lokal, tanpa server).
+ * Pilih implementasi lewat StorageFactory.
+ * Method daftar (getBooksByUserId, pencarian, filter, halaman) mengembalikan BookSummary tanpa description;
+ * getBookById dan streamBooksByUserId mengembalikan Book lengkap.
+ */
+public interface BookRepository {
+
+    // ===== Listener perubahan =====
+
+    void addChangeListener(BookChangeListener listener);
+
+    void removeChangeListener(BookChangeListener listener);
+
+    /**
+     * Memberi tahu listener bahwa banyak buku berubah sekaligus (misal setelah impor massal)
+     */
+    void notifyShelfChanged();
+
+    // ===== CREATE =====
+
+    /**
+     * Menambah buku baru; ID buku diisi jika berhasil
+     */
+    boolean addBook(Book book);
+
+    /**
+     * Menambah banyak buku dalam satu transaksi tanpa memberi tahu listener
+     * @return Jumlah buku yang ditambahkan
+     * @throws SQLException jika gagal (tidak ada buku yang ditambahkan)
+     */
+    int addBooksBatch(List<Book> books) throws SQLException;
+
+    // ===== READ =====
+
+    /**
+     * Book lengkap termasuk description (dipakai sebelum buku diedit)
+     */
+    Book getBookById(int id);
+
+    /**
+     * Semua buku milik user, urut dari yang paling lama ditambahkan
+     */
+    List<Book> getBooksByUserId();
+
+    /**
+     * Membaca semua buku milik user satu per satu (urutan sama dengan getBooksByUserId)
+     * @return Jumlah buku yang dibaca
+     */
+    int streamBooksByUserId(Consumer<Book> consumer) throws SQLException;
+
+    /**
+     * Membaca hanya ID, judul, dan penulis semua buku milik user (untuk index fuzzy rak yang sangat besar)
+     * @return Jumlah buku yang dibaca
+     */
+    int streamTitlesAndAuthors(TitleAuthorConsumer consumer) throws SQLException;
+
+    int getBooksCountByUserId();
+
+    /**
+     * Perubahan rak sejak watermark (inklusif, jadi buku di detik batas bisa terkirim ulang; terapkan sebagai upsert)
+     * @param watermark Watermark dari hasil sebelumnya, atau null untuk seluruh rak
+     * @return Buku yang ditambah/diubah dan ID buku yang dihapus, beserta watermark berikutnya
+     */
+    BookChanges getChangesSince(LocalDateTime watermark);
+
+    int[] getBookIdsByUserId();
+
+    /**
+     * Buku dengan ID tertentu tanpa kolom description, urutan sama dengan ids
+     */
+    List<Book> getBooksByIds(List<Integer> ids);
+
+    List<Book> searchBooks(String searchTerm);
+
+    /**
+     * Pencarian judul, penulis, dan deskripsi, yang paling relevan lebih dulu
+     */
+    List<Book> searchBooksFullText(String searchTerm);
+
+    List<Book> getBooksByStatus(String status);
+
+    List<Book> getBooksByGenre(String genre);
+
+    List<Book> searchBooksWithFilters(String searchTerm, String genre, String status, Double minRating);
+
+    /**
+     * Paginasi keyset; cursor hanya berlaku untuk implementasi yang membuatnya
+     * @throws IllegalArgumentException jika limit kurang dari 1
+     */
+    BookPage getBooksPage(BookPage.Sort sort, String cursor, int limit);
+
+    List<Book> getTopRatedBooks(int limit);
+
+    List<Book> getRecentlyAddedBooks(int limit);
+
+    // ===== UPDATE =====
+
+    boolean updateBook(Book book);
+
+    boolean updateBookRating(int bookId, double rating);
+
+    boolean updateBookStatus(int bookId, String status);
+
+    // ===== DELETE =====
+
+    boolean deleteBook(int id);
+
+    // ===== UTILITY =====
+
+    int getBooksCountByStatus(String status);
+
+    List<String> getAllGenres();
+
+    List<String> getAllAuthors();
+
+    boolean isIsbnExists(String isbn);
+
+    boolean isIsbnExistsForDifferentBook(String isbn, int excludeBookId);
+
+    String getReadingStatistics();
+
+    /**
+     * Statistik membaca milik user dari agregat penyimpanan, tanpa memuat seluruh rak
+     */
+    ReadingStats getReadingStats();
+
+    /**
+     * Penerima proyeksi (id, judul, penulis) dari streamTitlesAndAuthors
+     */
+    @FunctionalInterface
+    interface TitleAuthorConsumer {
+        void accept(int bookId, String title, String author);
+    }
+}
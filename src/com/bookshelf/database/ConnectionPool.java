@@ -0,0 +1,403 @@
+package com.bookshelf.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pool sederhana untuk koneksi MySQL
+ * Koneksi yang dipinjam lewat getConnection() akan dikembalikan ke pool saat close() dipanggil,
+ * sehingga DAO tetap bisa memakai try-with-resources tanpa membuka koneksi TCP baru setiap query.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final int statementCacheSize;
+
+    // Koneksi fisik yang sedang menganggur (LIFO agar koneksi "hangat" dipakai lebih dulu)
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    // Membatasi jumlah koneksi yang boleh dipinjam sekaligus
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed = false;
+
+    // ===== Metrik pool =====
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final StatementCache.Stats statementStats = new StatementCache.Stats();
+
+    /**
+     * Membuat pool baru dan langsung membuka minIdle koneksi
+     * @param url JDBC URL
+     * @param username Username database
+     * @param password Password database
+     * @param minIdle Jumlah minimum koneksi menganggur yang dijaga
+     * @param maxSize Jumlah maksimum koneksi (aktif + menganggur)
+     * @param borrowTimeoutMillis Batas waktu menunggu koneksi kosong
+     * @param idleTimeoutMillis Koneksi menganggur lebih lama dari ini akan ditutup
+     * @param statementCacheSize Jumlah maksimum PreparedStatement yang di-cache per koneksi (0 = tanpa cache)
+     * @throws SQLException jika koneksi awal gagal dibuka
+     */
+    public ConnectionPool(String url, String username, String password, int minIdle, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, int statementCacheSize) throws SQLException {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Ukuran pool tidak valid: min=" + minIdle + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        // Koneksi yang baru saja dipakai dianggap masih hidup, tidak perlu ping ulang
+        this.validationIntervalMillis = 5_000;
+        this.permits = new Semaphore(maxSize, true);
+
+        fillToMinimum();
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bookshelf-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Meminjam koneksi dari pool. Panggil close() pada koneksi untuk mengembalikannya.
+     * @return Koneksi yang siap dipakai
+     * @throws SQLException jika pool sudah ditutup, timeout, atau koneksi baru gagal dibuka
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool sudah ditutup");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timeout menunggu koneksi dari pool setelah " + borrowTimeoutMillis
+                        + " ms (aktif: " + activeConnections.get() + "/" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Dihentikan saat menunggu koneksi dari pool", e);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = createConnection();
+            }
+            activeConnections.incrementAndGet();
+            borrowCount.incrementAndGet();
+            totalWaitNanos.addAndGet(System.nanoTime() - start);
+            return pooled.newHandle(LeakDetector.getInstance().open(pooled.physical.toString()));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Mengambil koneksi menganggur yang masih valid, atau null jika tidak ada
+     */
+    private PooledConnection takeValidIdleConnection() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isValid(pooled)) {
+                return pooled;
+            }
+            validationFailures.incrementAndGet();
+            destroy(pooled);
+        }
+        return null;
+    }
+
+    /**
+     * Validasi saat peminjaman: ping hanya jika koneksi sudah lama tidak dipakai
+     */
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - pooled.lastUsed < validationIntervalMillis) {
+                return true;
+            }
+            return pooled.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Dipanggil oleh handle saat close(): reset state lalu kembalikan ke antrian idle
+     */
+    private void release(PooledConnection pooled) {
+        activeConnections.decrementAndGet();
+        try {
+            if (closed || pooled.physical.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            // Kembalikan koneksi ke kondisi default sebelum dipakai peminjam berikutnya
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.physical.clearWarnings();
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            System.err.println("Koneksi rusak dibuang dari pool: " + e.getMessage());
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.clear();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Koneksi memang sudah tidak terpakai, abaikan
+        }
+    }
+
+    /**
+     * Menutup koneksi yang menganggur terlalu lama, lalu menambah lagi sampai minIdle
+     */
+    private void evictIdleConnections() {
+        if (closed) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : idle) {
+            if (totalConnections.get() <= minIdle) {
+                break;
+            }
+            if (now - pooled.lastUsed > idleTimeoutMillis && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            System.err.println("Gagal menambah koneksi minimum pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Koneksi baru hanya dibuat sambil memegang permit, sama seperti peminjam di getConnection(),
+     * sehingga evictor dan peminjam tidak bersama-sama membuat koneksi melewati maxSize
+     */
+    private void fillToMinimum() throws SQLException {
+        while (!closed && idle.size() < minIdle && permits.tryAcquire()) {
+            try {
+                if (totalConnections.get() >= maxSize) {
+                    return;
+                }
+                idle.offerLast(createConnection());
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Menutup pool beserta semua koneksi yang sedang menganggur.
+     * Koneksi yang masih dipinjam akan ditutup saat dikembalikan.
+     */
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        // Koneksi yang masih dipinjam saat shutdown hampir selalu berarti close() terlewat
+        LeakDetector.getInstance().reportOutstanding();
+    }
+
+    public boolean isClosed() { return closed; }
+
+    // ===== Getter metrik =====
+    public int getTotalConnections() { return totalConnections.get(); }
+    public int getActiveConnections() { return activeConnections.get(); }
+    public int getIdleConnections() { return idle.size(); }
+    public int getWaitingThreads() { return permits.getQueueLength(); }
+    public long getBorrowCount() { return borrowCount.get(); }
+    public long getCreatedCount() { return createdCount.get(); }
+    public long getTimeoutCount() { return timeoutCount.get(); }
+    public long getStatementCacheHits() { return statementStats.hits.get(); }
+    public long getStatementCacheMisses() { return statementStats.misses.get(); }
+
+    /**
+     * Ringkasan metrik pool dalam bentuk string terformat
+     */
+    public String getStats() {
+        long borrows = borrowCount.get();
+        double avgWaitMs = borrows == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+        return String.format(
+            "Pool: aktif %d, idle %d, total %d/%d, menunggu %d%n" +
+            "Dipinjam: %d (rata-rata tunggu %.2f ms), timeout: %d%n" +
+            "Dibuat: %d, ditutup: %d, gagal validasi: %d%n%s%n%s",
+            activeConnections.get(), idle.size(), totalConnections.get(), maxSize, permits.getQueueLength(),
+            borrows, avgWaitMs, timeoutCount.get(),
+            createdCount.get(), destroyedCount.get(), validationFailures.get(),
+            statementStats, LeakDetector.getInstance().getStats());
+    }
+
+    /**
+     * Koneksi fisik di dalam pool beserta waktu terakhir dipakai
+     */
+    private class PooledConnection {
+        final Connection physical;
+        final StatementCache statementCache;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementStats)
+                    : null;
+        }
+
+        /**
+         * Membuat proxy Connection untuk satu kali peminjaman.
+         * close() pada proxy mengembalikan koneksi ke pool, bukan menutup koneksi fisik.
+         */
+        Connection newHandle(LeakDetector.Scope leaks) {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new Handle(this, leaks));
+        }
+    }
+
+    /**
+     * InvocationHandler untuk proxy koneksi yang dipinjam
+     */
+    private class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        // Pelacak Statement/ResultSet untuk peminjaman ini, null jika LeakDetector dimatikan
+        private final LeakDetector.Scope leaks;
+        private boolean returned = false;
+
+        Handle(PooledConnection pooled, LeakDetector.Scope leaks) {
+            this.pooled = pooled;
+            this.leaks = leaks;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (!returned) {
+                            returned = true;
+                            try {
+                                if (leaks != null) {
+                                    leaks.close();
+                                }
+                            } finally {
+                                release(pooled);
+                            }
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "prepareStatement":
+                    // Hanya prepareStatement(String) dan prepareStatement(String, int) yang di-cache;
+                    // varian lain diteruskan apa adanya
+                    if (!returned && pooled.statementCache != null) {
+                        if (args.length == 1) {
+                            return track(method, args,
+                                    pooled.statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS));
+                        }
+                        if (args.length == 2 && args[1] instanceof Integer) {
+                            return track(method, args,
+                                    pooled.statementCache.prepare((String) args[0], (Integer) args[1]));
+                        }
+                    }
+                    return track(method, args, invokePhysical(method, args));
+                case "createStatement":
+                case "prepareCall":
+                    return track(method, args, invokePhysical(method, args));
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (returned ? ", returned" : "") + "]";
+                default:
+                    return invokePhysical(method, args);
+            }
+        }
+
+        // Statement yang diberikan ke pemanggil dibungkus LeakDetector agar close()-nya terpantau
+        private Object track(Method method, Object[] args, Object result) {
+            if (leaks == null || !(result instanceof Statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            return leaks.wrap((Statement) result, method.getReturnType(), sql);
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            if (returned) {
+                throw new SQLException("Koneksi sudah dikembalikan ke pool");
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
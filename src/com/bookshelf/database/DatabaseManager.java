@@ -1,10 +1,16 @@
 package com.bookshelf.database;
 
+import com.bookshelf.metrics.MetricsRegistry;
+import com.bookshelf.metrics.StartupTimer;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Database Manager untuk mengelola koneksi dan operasi database MySQL
@@ -16,48 +22,104 @@ public class DatabaseManager {
     private static final String DB_PORT = "3306"; // Ganti ke 3306 jika default MySQL
     private static final String DB_NAME = "bookshelf_db";
     private static final String DB_URL = "jdbc:mysql://" + DB_HOST + ":" + DB_PORT + "/" + DB_NAME + 
-                                        "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+                                        "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC" +
+                                        "&useServerPrepStmts=true&rewriteBatchedStatements=true";
     private static final String DB_USERNAME = "root";
     private static final String DB_PASSWORD = "";
     private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
     
+    // ===== Konfigurasi connection pool =====
+    private static final int POOL_MIN_IDLE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_BORROW_TIMEOUT_MS = 10_000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    // Jumlah PreparedStatement (server-side) yang di-cache per koneksi
+    private static final int STATEMENT_CACHE_SIZE = 32;
+    
+    private static final int ER_BAD_DB_ERROR = 1049;
+    
     // ===== Singleton instance =====
     private static DatabaseManager instance;
-    private Connection connection;
+    // volatile: dibaca tanpa lock oleh getConnection(), diganti hanya di connect() yang synchronized
+    private volatile ConnectionPool pool;
+    private final SchemaMigrator migrator = new SchemaMigrator();
+    // Selesai (true/false) setelah inisialisasi database berjalan
+    private volatile CompletableFuture<Boolean> initialization;
     
     // ===== Konstruktor private agar hanya bisa diakses dari dalam class (Singleton) =====
     private DatabaseManager() {
-        initializeDatabase();
     }
     
     /**
-     * Mendapatkan instance tunggal DatabaseManager (pola Singleton)
+     * Mendapatkan instance tunggal DatabaseManager (pola Singleton).
+     * Jika inisialisasi belum dimulai, inisialisasi dijalankan di thread pemanggil.
      */
     public static synchronized DatabaseManager getInstance() {
         if (instance == null) {
             instance = new DatabaseManager();
+            instance.initialization = CompletableFuture.completedFuture(instance.initializeDatabase());
         }
         return instance;
     }
     
     /**
-     * Inisialisasi database: load driver, buat database jika belum ada, koneksi, dan buat tabel
+     * Memulai inisialisasi database di background tanpa memblokir pemanggil.
+     * Pemanggil getConnection() selama inisialisasi berjalan akan menunggu sampai selesai.
+     * @return Future bernilai true jika database siap dipakai
+     */
+    public static synchronized CompletableFuture<Boolean> initializeAsync(Executor executor) {
+        if (instance == null) {
+            instance = new DatabaseManager();
+            instance.initialization = CompletableFuture.supplyAsync(instance::initializeDatabase, executor);
+        }
+        return instance.initialization;
+    }
+    
+    /**
+     * Inisialisasi database: load driver, koneksi, lalu migrasi skema.
+     * DDL (buat database, migrasi, data contoh) hanya dijalankan jika skema belum versi terbaru.
+     * @return true jika database siap dipakai
      */
-    private void initializeDatabase() {
+    private boolean initializeDatabase() {
+        StartupTimer timer = StartupTimer.getInstance();
         try {
             // Memuat driver JDBC MySQL
-            Class.forName(DB_DRIVER);
-            
-            // Koneksi tanpa nama database untuk membuat database jika belum ada
-            createDatabaseIfNotExists();
+            StartupTimer.Phase loadDriver = timer.begin("db: load driver");
+            try {
+                Class.forName(DB_DRIVER);
+            } finally {
+                loadDriver.close();
+            }
             
-            // Koneksi ke database yang sudah ada
-            connect();
+            // Koneksi ke database; database baru dibuat hanya jika belum ada
+            StartupTimer.Phase connectPool = timer.begin("db: connect pool");
+            try {
+                connect();
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_BAD_DB_ERROR) {
+                    throw e;
+                }
+                createDatabaseIfNotExists();
+                connect();
+            } finally {
+                connectPool.close();
+            }
             
-            // Membuat tabel-tabel yang diperlukan
-            createTables();
+            // Menjalankan migrasi yang belum diterapkan (cukup satu query jika skema sudah terbaru)
+            StartupTimer.Phase migrate = timer.begin("db: migrate schema");
+            try (Connection connection = pool.getConnection()) {
+                int applied = migrator.migrate(connection);
+                if (applied == 0) {
+                    System.out.println("Skema database sudah versi V" + SchemaMigrator.latestVersion() + ", DDL dilewati.");
+                } else {
+                    insertSampleData(connection);
+                }
+            } finally {
+                migrate.close();
+            }
             
             System.out.println("MySQL database initialized successfully!");
+            return true;
             
         } catch (ClassNotFoundException e) {
             System.err.println("MySQL JDBC driver tidak ditemukan!");
@@ -71,6 +133,21 @@ public class DatabaseManager {
             System.err.println("3. MySQL dapat diakses di " + DB_HOST + ":" + DB_PORT);
             e.printStackTrace();
         }
+        return false;
+    }
+    
+    /**
+     * Menunggu inisialisasi (jika masih berjalan di background)
+     */
+    private void awaitInitialization() {
+        CompletableFuture<Boolean> pending = initialization;
+        if (pending != null && !pending.isDone()) {
+            try {
+                pending.join();
+            } catch (CompletionException e) {
+                System.err.println("Inisialisasi database gagal: " + e.getCause());
+            }
+        }
     }
     
     /**
@@ -97,69 +174,43 @@ public class DatabaseManager {
     }
     
     /**
-     * Membuka koneksi ke database MySQL
+     * Membuka connection pool ke database MySQL (sekali saja walaupun dipanggil beberapa thread sekaligus)
+     * @return Pool yang terbuka
      */
-    private void connect() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+    private synchronized ConnectionPool connect() throws SQLException {
+        if (pool == null || pool.isClosed()) {
+            pool = new ConnectionPool(DB_URL, DB_USERNAME, DB_PASSWORD,
+                    POOL_MIN_IDLE, POOL_MAX_SIZE, POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS,
+                    STATEMENT_CACHE_SIZE);
             System.out.println("Berhasil terhubung ke database MySQL: " + DB_NAME);
         }
+        return pool;
     }
     
     /**
-     * Mendapatkan objek koneksi database
+     * Meminjam koneksi database dari pool.
+     * Panggil close() (atau gunakan try-with-resources) untuk mengembalikannya ke pool.
      */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connect();
-        }
-        return connection;
-    }
-    
-    /**
-     * Membuat tabel-tabel yang diperlukan di database
-     */
-    private void createTables() throws SQLException {
-        createBooksTable();
-        insertSampleData();
-    }
-    
-    /**
-     * Membuat tabel 'books' jika belum ada
-     */
-    private void createBooksTable() throws SQLException {
-        String createBooksTableSQL = """
-            CREATE TABLE IF NOT EXISTS books (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                title VARCHAR(255) NOT NULL,
-                author VARCHAR(255) NOT NULL,
-                isbn VARCHAR(20) UNIQUE,
-                genre VARCHAR(100),
-                publication_year INT,
-                pages INT,
-                description TEXT,
-                rating DECIMAL(2,1) DEFAULT 0.0,
-                status ENUM('Want to Read', 'Reading', 'Read') DEFAULT 'Want to Read',
-                date_added TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                date_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                INDEX idx_title (title),
-                INDEX idx_author (author),
-                INDEX idx_genre (genre),
-                INDEX idx_status (status),
-                INDEX idx_rating (rating)
-            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-        """;
-        
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createBooksTableSQL);
-            System.out.println("Tabel books berhasil dibuat!");
+        awaitInitialization();
+        try (MetricsRegistry.Sample sample = MetricsRegistry.getInstance().start("db.getConnection")) {
+            try {
+                ConnectionPool current = pool;
+                if (current == null || current.isClosed()) {
+                    current = connect();
+                }
+                return current.getConnection();
+            } catch (SQLException e) {
+                sample.error();
+                throw e;
+            }
         }
     }
     
     /**
      * Menambahkan data contoh (sample) jika tabel masih kosong
      */
-    private void insertSampleData() throws SQLException {
+    private void insertSampleData(Connection connection) throws SQLException {
         // Mengecek apakah tabel kosong
         String countSQL = "SELECT COUNT(*) FROM books";
         try (Statement stmt = connection.createStatement();
@@ -241,20 +292,29 @@ public class DatabaseManager {
     }
     
     /**
-     * Menutup koneksi database
+     * Menutup connection pool beserta semua koneksi database
      */
-    public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Koneksi database MySQL ditutup.");
-            }
-        } catch (SQLException e) {
-            System.err.println("Gagal menutup koneksi database!");
-            e.printStackTrace();
+    public synchronized void closeConnection() {
+        if (pool != null && !pool.isClosed()) {
+            pool.close();
+            System.out.println("Koneksi database MySQL ditutup.");
         }
     }
     
+    /**
+     * Metrik pool dan cache buku dari counter di memori, tanpa meminjam koneksi (aman dipanggil di EDT)
+     */
+    public String getRuntimeStats() {
+        return getPoolStats() + "\n\n" + BookCache.getInstance().getStats();
+    }
+
+    /**
+     * Mendapatkan metrik connection pool
+     */
+    public String getPoolStats() {
+        return pool != null ? pool.getStats() : "Pool belum diinisialisasi";
+    }
+    
     /**
      * Mendapatkan info koneksi database
      */
@@ -266,8 +326,7 @@ public class DatabaseManager {
      * Menguji koneksi database
      */
     public boolean testConnection() {
-        try {
-            Connection testConn = getConnection();
+        try (Connection testConn = getConnection()) {
             if (testConn != null && !testConn.isClosed()) {
                 // Tes dengan query sederhana
                 try (Statement stmt = testConn.createStatement();
@@ -294,7 +353,8 @@ public class DatabaseManager {
      * Menjalankan perintah SQL (untuk maintenance atau update)
      */
     public boolean executeSQLScript(String sql) {
-        try (Statement stmt = getConnection().createStatement()) {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
             return true;
         } catch (SQLException e) {
@@ -313,28 +373,27 @@ public class DatabaseManager {
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
             
-            // Total buku
-            try (var rs = stmt.executeQuery("SELECT COUNT(*) as total FROM books")) {
+            // Total, jumlah per status, dan rata-rata rating dari counter per user (satu baris per user)
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT COALESCE(SUM(total), 0) AS total, COALESCE(SUM(want_to_read), 0) AS want_to_read, "
+                    + "COALESCE(SUM(reading), 0) AS reading, COALESCE(SUM(read_count), 0) AS read_count, "
+                    + "COALESCE(SUM(rated), 0) AS rated, COALESCE(SUM(rating_sum), 0) AS rating_sum "
+                    + "FROM user_book_stats")) {
                 if (rs.next()) {
+                    int rated = rs.getInt("rated");
                     stats.append("Total Buku: ").append(rs.getInt("total")).append("\n");
+                    stats.append("\nBuku berdasarkan Status:\n");
+                    stats.append("- Want to Read: ").append(rs.getInt("want_to_read")).append("\n");
+                    stats.append("- Reading: ").append(rs.getInt("reading")).append("\n");
+                    stats.append("- Read: ").append(rs.getInt("read_count")).append("\n");
+                    stats.append("\nRata-rata Rating: ").append(
+                            String.format("%.1f", rated > 0 ? rs.getDouble("rating_sum") / rated : 0.0));
                 }
             }
             
-            // Buku berdasarkan status
-            try (var rs = stmt.executeQuery("SELECT status, COUNT(*) as count FROM books GROUP BY status")) {
-                stats.append("\nBuku berdasarkan Status:\n");
-                while (rs.next()) {
-                    stats.append("- ").append(rs.getString("status")).append(": ")
-                         .append(rs.getInt("count")).append("\n");
-                }
-            }
-            
-            // Rata-rata rating
-            try (var rs = stmt.executeQuery("SELECT AVG(rating) as avg_rating FROM books WHERE rating > 0")) {
-                if (rs.next()) {
-                    stats.append("\nRata-rata Rating: ").append(String.format("%.1f", rs.getDouble("avg_rating")));
-                }
-            }
+            // Metrik connection pool dan cache buku
+            stats.append("\n\n").append(getPoolStats());
+            stats.append("\n\n").append(BookCache.getInstance().getStats());
             
         } catch (SQLException e) {
             stats.append("Gagal mengambil statistik: ").append(e.getMessage());
@@ -0,0 +1,483 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.BookChanges;
+import com.bookshelf.model.BookPage;
+import com.bookshelf.model.BookSummary;
+import com.bookshelf.model.ReadingStats;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * BookRepository di atas EmbeddedStore: semua query dijalankan di memori,
+ * dengan urutan dan aturan yang sama seperti query MySQL di BookDAO.
+ */
+public class EmbeddedBookRepository implements BookRepository {
+
+    // Urutan judul mengikuti collation MySQL yang tidak membedakan huruf besar/kecil
+    private static final Comparator<String> TEXT_ORDER =
+            Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+    private static final Comparator<Book> BY_DATE_ADDED =
+            Comparator.comparing(Book::getDateAdded, Comparator.nullsFirst(Comparator.naturalOrder()))
+                      .thenComparingInt(Book::getId);
+    private static final Comparator<Book> BY_TITLE =
+            Comparator.comparing(Book::getTitle, TEXT_ORDER).thenComparingInt(Book::getId);
+    private static final Comparator<Book> BY_RATING_DESC =
+            Comparator.comparingDouble(Book::getRating).thenComparingInt(Book::getId).reversed();
+
+    private final EmbeddedStore store;
+    private final int userId;
+    private final List<BookChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public EmbeddedBookRepository(EmbeddedStore store, int userId) {
+        this.store = store;
+        this.userId = userId;
+    }
+
+    // ===== Listener =====
+
+    @Override
+    public void addChangeListener(BookChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(BookChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void notifyShelfChanged() {
+        for (BookChangeListener listener : listeners) {
+            listener.shelfChanged();
+        }
+    }
+
+    // ===== CREATE =====
+
+    @Override
+    public boolean addBook(Book book) {
+        try {
+            store.insertBooks(userId, Collections.singletonList(book));
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Error adding book: " + e.getMessage());
+            return false;
+        }
+        for (BookChangeListener listener : listeners) {
+            listener.bookAdded(book);
+        }
+        return true;
+    }
+
+    @Override
+    public int addBooksBatch(List<Book> books) throws SQLException {
+        try {
+            store.insertBooks(userId, books);
+        } catch (IOException | IllegalStateException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+        return books.size();
+    }
+
+    // ===== READ =====
+
+    @Override
+    public Book getBookById(int id) {
+        Book book = store.getBook(id);
+        return book != null && book.getUserId() == userId ? book : null;
+    }
+
+    @Override
+    public List<Book> getBooksByUserId() {
+        return summaries(sorted(BY_DATE_ADDED));
+    }
+
+    @Override
+    public int streamBooksByUserId(Consumer<Book> consumer) {
+        // Ekspor butuh data lengkap, termasuk description
+        List<Book> books = sorted(BY_DATE_ADDED);
+        for (Book book : books) {
+            consumer.accept(book);
+        }
+        return books.size();
+    }
+
+    @Override
+    public int streamTitlesAndAuthors(TitleAuthorConsumer consumer) {
+        List<Book> books = store.getBooks(userId);
+        for (Book book : books) {
+            consumer.accept(book.getId(), book.getTitle(), book.getAuthor());
+        }
+        return books.size();
+    }
+
+    @Override
+    public int getBooksCountByUserId() {
+        return store.countBooks(userId);
+    }
+
+    @Override
+    public BookChanges getChangesSince(LocalDateTime watermark) {
+        // Aturan watermark sama dengan BookDAO: jam saat mulai membaca dikurangi jendela aman
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.minusSeconds(BookDAO.SYNC_SAFETY_SECONDS);
+        LocalDateTime retentionCutoff = now.minusDays(BookDAO.TOMBSTONE_RETENTION_DAYS);
+        LocalDateTime since = watermark != null && watermark.isBefore(retentionCutoff) ? null : watermark;
+
+        List<Book> upserted = new ArrayList<>();
+        for (Book book : sorted(BY_DATE_ADDED)) {
+            LocalDateTime updated = book.getDateUpdated() != null ? book.getDateUpdated() : book.getDateAdded();
+            if (since == null || (updated != null && !updated.isBefore(since))) {
+                upserted.add(new BookSummary(book));
+            }
+        }
+        List<Integer> deletedIds = new ArrayList<>();
+        if (since != null) {
+            deletedIds.addAll(store.getDeletionsSince(userId, since).keySet());
+        }
+        store.pruneDeletions(userId, retentionCutoff);
+        return new BookChanges(upserted, deletedIds, next, since == null);
+    }
+
+    @Override
+    public int[] getBookIdsByUserId() {
+        List<Book> books = sorted(BY_DATE_ADDED);
+        int[] ids = new int[books.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = books.get(i).getId();
+        }
+        return ids;
+    }
+
+    @Override
+    public List<Book> getBooksByIds(List<Integer> ids) {
+        return summaries(store.getBooks(userId, ids));
+    }
+
+    @Override
+    public List<Book> searchBooks(String searchTerm) {
+        String term = lower(searchTerm);
+        return filter(book -> contains(book.getTitle(), term) || contains(book.getAuthor(), term)
+                || contains(book.getIsbn(), term), BY_TITLE);
+    }
+
+    /**
+     * Pengganti FULLTEXT: setiap kata query harus menjadi awalan kata di judul, penulis, atau deskripsi.
+     * Relevansi dihitung dari jumlah kata yang cocok, kecocokan di judul diberi bobot lebih.
+     */
+    @Override
+    public List<Book> searchBooksFullText(String searchTerm) {
+        List<String> words = words(searchTerm);
+        if (words.isEmpty()) {
+            return searchBooks(searchTerm);
+        }
+        Map<Book, Integer> scores = new LinkedHashMap<>();
+        for (Book book : store.getBooks(userId)) {
+            List<String> title = words(book.getTitle());
+            List<String> other = words(book.getAuthor());
+            other.addAll(words(book.getDescription()));
+            int score = 0;
+            for (String word : words) {
+                int titleHits = prefixHits(title, word);
+                int otherHits = prefixHits(other, word);
+                if (titleHits + otherHits == 0) {
+                    score = 0;
+                    break;
+                }
+                score += 2 * titleHits + otherHits;
+            }
+            if (score > 0) {
+                scores.put(book, score);
+            }
+        }
+        List<Book> books = new ArrayList<>(scores.keySet());
+        books.sort(Comparator.comparing((Book book) -> scores.get(book)).reversed().thenComparing(BY_TITLE));
+        return summaries(books);
+    }
+
+    @Override
+    public List<Book> getBooksByStatus(String status) {
+        return filter(book -> status.equals(book.getStatus()), BY_TITLE);
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genre) {
+        return filter(book -> genre.equalsIgnoreCase(String.valueOf(book.getGenre())), BY_TITLE);
+    }
+
+    @Override
+    public List<Book> searchBooksWithFilters(String searchTerm, String genre, String status, Double minRating) {
+        String term = isBlank(searchTerm) ? null : lower(searchTerm);
+        return filter(book ->
+                (term == null || contains(book.getTitle(), term) || contains(book.getAuthor(), term)
+                        || contains(book.getIsbn(), term))
+                && (isBlank(genre) || genre.equalsIgnoreCase(String.valueOf(book.getGenre())))
+                && (isBlank(status) || status.equals(book.getStatus()))
+                && (minRating == null || book.getRating() >= minRating),
+            BY_TITLE);
+    }
+
+    @Override
+    public BookPage getBooksPage(BookPage.Sort sort, String cursor, int limit) {
+        BookDAO.checkPageLimit(limit);
+        String[] position = cursor != null ? BookDAO.decodeCursor(sort, cursor) : null;
+        Comparator<Book> order;
+        Predicate<Book> afterCursor = book -> true;
+
+        switch (sort) {
+            case TITLE:
+                order = BY_TITLE;
+                if (position != null) {
+                    String title = position[0];
+                    int id = Integer.parseInt(position[1]);
+                    afterCursor = book -> {
+                        int c = TEXT_ORDER.compare(book.getTitle(), title);
+                        return c > 0 || (c == 0 && book.getId() > id);
+                    };
+                }
+                break;
+            case RATING:
+                order = BY_RATING_DESC;
+                if (position != null) {
+                    double rating = Double.parseDouble(position[0]);
+                    int id = Integer.parseInt(position[1]);
+                    afterCursor = book -> book.getRating() < rating || (book.getRating() == rating && book.getId() < id);
+                }
+                break;
+            default:
+                order = BY_DATE_ADDED.reversed();
+                if (position != null) {
+                    long millis = Long.parseLong(position[0]);
+                    int id = Integer.parseInt(position[1]);
+                    afterCursor = book -> {
+                        long added = Timestamp.valueOf(book.getDateAdded()).getTime();
+                        return added < millis || (added == millis && book.getId() < id);
+                    };
+                }
+                break;
+        }
+
+        // TreeSet menyimpan hanya limit + 1 buku teratas, tanpa mengurutkan seluruh rak
+        TreeSet<Book> top = new TreeSet<>(order);
+        for (Book book : store.getBooks(userId)) {
+            if (afterCursor.test(book)) {
+                top.add(book);
+                if (top.size() > limit + 1) {
+                    top.pollLast();
+                }
+            }
+        }
+        List<Book> books = new ArrayList<>(top);
+        boolean hasMore = books.size() > limit;
+        if (hasMore) {
+            books.remove(books.size() - 1);
+        }
+        String nextCursor = hasMore ? BookDAO.encodeCursor(sort, books.get(books.size() - 1)) : null;
+        return new BookPage(summaries(books), nextCursor);
+    }
+
+    @Override
+    public List<Book> getTopRatedBooks(int limit) {
+        List<Book> books = filter(book -> book.getRating() > 0,
+                Comparator.comparingDouble(Book::getRating).reversed().thenComparing(BY_TITLE));
+        return books.subList(0, Math.min(limit, books.size()));
+    }
+
+    @Override
+    public List<Book> getRecentlyAddedBooks(int limit) {
+        List<Book> books = sorted(BY_DATE_ADDED.reversed());
+        return summaries(books.subList(0, Math.min(limit, books.size())));
+    }
+
+    // ===== UPDATE =====
+
+    @Override
+    public boolean updateBook(Book book) {
+        try {
+            if (!store.updateBook(userId, book)) {
+                return false;
+            }
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Error updating book: " + e.getMessage());
+            return false;
+        }
+        for (BookChangeListener listener : listeners) {
+            listener.bookUpdated(book);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateBookRating(int bookId, double rating) {
+        Book book = getBookById(bookId);
+        if (book == null) {
+            return false;
+        }
+        book.setRating(rating);
+        return updateBook(book);
+    }
+
+    @Override
+    public boolean updateBookStatus(int bookId, String status) {
+        Book book = getBookById(bookId);
+        if (book == null) {
+            return false;
+        }
+        book.setStatus(status);
+        return updateBook(book);
+    }
+
+    // ===== DELETE =====
+
+    @Override
+    public boolean deleteBook(int id) {
+        try {
+            if (!store.deleteBook(userId, id)) {
+                return false;
+            }
+        } catch (IOException e) {
+            System.err.println("Error deleting book: " + e.getMessage());
+            return false;
+        }
+        for (BookChangeListener listener : listeners) {
+            listener.bookRemoved(id);
+        }
+        return true;
+    }
+
+    // ===== UTILITY =====
+
+    @Override
+    public int getBooksCountByStatus(String status) {
+        int count = 0;
+        for (Book book : store.getBooks(userId)) {
+            if (status.equals(book.getStatus())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<String> getAllGenres() {
+        return distinct(Book::getGenre);
+    }
+
+    @Override
+    public List<String> getAllAuthors() {
+        return distinct(Book::getAuthor);
+    }
+
+    @Override
+    public boolean isIsbnExists(String isbn) {
+        return !isBlank(isbn) && store.findBookIdByIsbn(isbn) != null;
+    }
+
+    @Override
+    public boolean isIsbnExistsForDifferentBook(String isbn, int excludeBookId) {
+        if (isBlank(isbn)) {
+            return false;
+        }
+        Integer owner = store.findBookIdByIsbn(isbn);
+        return owner != null && owner != excludeBookId;
+    }
+
+    @Override
+    public String getReadingStatistics() {
+        return getReadingStats().format();
+    }
+
+    @Override
+    public ReadingStats getReadingStats() {
+        // Rak embedded sudah ada di memori, cukup satu lintasan
+        return ReadingStatsService.compute(userId, store.getBooks(userId));
+    }
+
+    // ===== Helper =====
+
+    private List<Book> sorted(Comparator<Book> order) {
+        List<Book> books = store.getBooks(userId);
+        books.sort(order);
+        return books;
+    }
+
+    /**
+     * Buku yang memenuhi kondisi, sebagai BookSummary (tanpa description) seperti query daftar di BookDAO
+     */
+    private List<Book> filter(Predicate<Book> condition, Comparator<Book> order) {
+        List<Book> books = new ArrayList<>();
+        for (Book book : store.getBooks(userId)) {
+            if (condition.test(book)) {
+                books.add(new BookSummary(book));
+            }
+        }
+        books.sort(order);
+        return books;
+    }
+
+    private static List<Book> summaries(List<Book> books) {
+        List<Book> summaries = new ArrayList<>(books.size());
+        for (Book book : books) {
+            summaries.add(new BookSummary(book));
+        }
+        return summaries;
+    }
+
+    private List<String> distinct(java.util.function.Function<Book, String> column) {
+        TreeSet<String> values = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Book book : store.getBooks(userId)) {
+            String value = column.apply(book);
+            if (!isBlank(value)) {
+                values.add(value);
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    private static boolean contains(String value, String lowerTerm) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerTerm);
+    }
+
+    private static int prefixHits(List<String> words, String prefix) {
+        int hits = 0;
+        for (String word : words) {
+            if (word.startsWith(prefix)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,625 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Penyimpanan embedded (pure Java) untuk instalasi desktop satu pengguna tanpa server MySQL.
+ * Semua data user dan buku disimpan di memori. Setiap perubahan ditulis ke journal (append-only)
+ * di folder data, dan journal dipadatkan secara berkala menjadi snapshot.
+ * Saat start, snapshot dibaca lalu journal diputar ulang; record terakhir yang terpotong
+ * (misal karena listrik mati) dibuang berdasarkan checksum CRC32.
+ * Folder data bisa diatur lewat system property "bookshelf.embedded.dir" (default ~/.bookshelf).
+ */
+public class EmbeddedStore {
+
+    private static final int MAGIC = 0x42534831; // "BSH1"
+    private static final byte OP_USER = 1;
+    private static final byte OP_BOOK_PUT = 2;
+    private static final byte OP_BOOK_DELETE = 3;
+    // Journal dipadatkan menjadi snapshot setelah sekian record
+    private static final int COMPACT_THRESHOLD = 20_000;
+
+    private static EmbeddedStore instance;
+
+    private final Path directory;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private FileChannel journalChannel;
+    private DataOutputStream journal;
+    private int journalRecords = 0;
+    private boolean closed = false;
+
+    // ===== Data di memori =====
+    private final Map<String, UserRecord> usersByName = new HashMap<>();
+    private final Map<Integer, Book> books = new HashMap<>();
+    // userId -> (bookId -> buku), urut sesuai waktu ditambahkan
+    private final Map<Integer, Map<Integer, Book>> booksByUser = new HashMap<>();
+    private final Map<String, Integer> bookIdByIsbn = new HashMap<>();
+    // userId -> (bookId -> waktu dihapus) untuk sinkronisasi delta; hanya selama proses berjalan
+    // (klien selalu memuat rak penuh saat start, jadi tombstone dari sesi lama tidak diperlukan)
+    private final Map<Integer, Map<Integer, LocalDateTime>> deletionsByUser = new HashMap<>();
+    private int nextUserId = 1;
+    private int nextBookId = 1;
+
+    /**
+     * Mendapatkan instance tunggal EmbeddedStore (pola Singleton)
+     * @throws IOException jika folder data tidak bisa dibuka atau sedang dipakai proses lain
+     */
+    public static synchronized EmbeddedStore getInstance() throws IOException {
+        if (instance == null || instance.closed) {
+            String dir = System.getProperty("bookshelf.embedded.dir",
+                    Paths.get(System.getProperty("user.home"), ".bookshelf").toString());
+            instance = new EmbeddedStore(Paths.get(dir));
+        }
+        return instance;
+    }
+
+    /**
+     * Instance yang sudah dibuka, atau null (tidak membuka folder data)
+     */
+    static synchronized EmbeddedStore getOpenInstance() {
+        return instance != null && !instance.closed ? instance : null;
+    }
+
+    EmbeddedStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve("bookshelf.snapshot");
+        this.journalFile = directory.resolve("bookshelf.journal");
+
+        // Cegah dua proses menulis folder data yang sama
+        lockChannel = FileChannel.open(directory.resolve("bookshelf.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Folder data " + directory + " sedang dipakai aplikasi lain");
+        }
+
+        try {
+            if (Files.exists(snapshotFile)) {
+                replay(snapshotFile, false);
+            }
+            if (Files.exists(journalFile)) {
+                journalRecords = replay(journalFile, true);
+            }
+            openJournal();
+        } catch (IOException e) {
+            lock.release();
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    // ===== User =====
+
+    /**
+     * Menambah user baru
+     * @return ID user, atau -1 jika username sudah dipakai
+     */
+    synchronized int addUser(String username, String password) throws IOException {
+        if (usersByName.containsKey(username)) {
+            return -1;
+        }
+        UserRecord user = new UserRecord(nextUserId, username, password);
+        append(encodeUser(user));
+        applyUser(user);
+        compactIfNeeded();
+        return user.id;
+    }
+
+    /**
+     * ID user jika username dan password cocok (password null = tidak diperiksa), atau -1
+     */
+    synchronized int findUser(String username, String password) {
+        UserRecord user = usersByName.get(username);
+        if (user == null || (password != null && !user.password.equals(password))) {
+            return -1;
+        }
+        return user.id;
+    }
+
+    // ===== Buku =====
+
+    /**
+     * Salinan buku berdasarkan ID, atau null
+     */
+    synchronized Book getBook(int bookId) {
+        Book book = books.get(bookId);
+        return book != null ? new Book(book) : null;
+    }
+
+    /**
+     * Salinan semua buku milik user sesuai urutan penambahan
+     */
+    synchronized List<Book> getBooks(int userId) {
+        Map<Integer, Book> shelf = booksByUser.get(userId);
+        List<Book> copies = new ArrayList<>(shelf != null ? shelf.size() : 0);
+        if (shelf != null) {
+            for (Book book : shelf.values()) {
+                copies.add(new Book(book));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Salinan buku milik user untuk ID tertentu sesuai urutan ID yang diminta (ID yang tidak ada dilewati).
+     * Dicari langsung di map per user, tanpa menyalin seluruh rak
+     */
+    synchronized List<Book> getBooks(int userId, List<Integer> bookIds) {
+        Map<Integer, Book> shelf = booksByUser.get(userId);
+        List<Book> copies = new ArrayList<>(bookIds.size());
+        if (shelf != null) {
+            for (Integer bookId : bookIds) {
+                Book book = shelf.get(bookId);
+                if (book != null) {
+                    copies.add(new Book(book));
+                }
+            }
+        }
+        return copies;
+    }
+
+    synchronized int countBooks(int userId) {
+        Map<Integer, Book> shelf = booksByUser.get(userId);
+        return shelf != null ? shelf.size() : 0;
+    }
+
+    /**
+     * ID buku lain yang memakai ISBN ini, atau null
+     */
+    synchronized Integer findBookIdByIsbn(String isbn) {
+        return bookIdByIsbn.get(normalizeIsbn(isbn));
+    }
+
+    /**
+     * Menambah buku baru sekaligus (semua atau tidak sama sekali).
+     * ID, user ID, dan tanggal update diisi pada objek yang diberikan.
+     * @throws IllegalStateException jika ada ISBN yang sudah dipakai buku lain
+     */
+    synchronized void insertBooks(int userId, List<Book> newBooks) throws IOException {
+        Map<String, Book> isbns = new HashMap<>();
+        for (Book book : newBooks) {
+            String isbn = normalizeIsbn(book.getIsbn());
+            if (isbn != null && (bookIdByIsbn.containsKey(isbn) || isbns.put(isbn, book) != null)) {
+                throw new IllegalStateException("Duplicate entry '" + book.getIsbn() + "' for key 'isbn'");
+            }
+        }
+
+        List<Book> stored = new ArrayList<>(newBooks.size());
+        byte[][] records = new byte[newBooks.size()][];
+        int id = nextBookId;
+        LocalDateTime now = LocalDateTime.now();
+        for (Book book : newBooks) {
+            Book copy = new Book(book);
+            copy.setId(id++);
+            copy.setUserId(userId);
+            copy.setDateUpdated(now);
+            if (copy.getDateAdded() == null) {
+                copy.setDateAdded(now);
+            }
+            records[stored.size()] = encodeBook(copy);
+            stored.add(copy);
+        }
+        append(records);
+
+        for (int i = 0; i < stored.size(); i++) {
+            Book copy = stored.get(i);
+            applyBook(copy);
+            Book book = newBooks.get(i);
+            book.setId(copy.getId());
+            book.setUserId(userId);
+            book.setDateAdded(copy.getDateAdded());
+            book.setDateUpdated(now);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Mengganti data buku milik user (tanggal ditambahkan tidak berubah)
+     * @return false jika buku tidak ada atau milik user lain
+     * @throws IllegalStateException jika ISBN sudah dipakai buku lain
+     */
+    synchronized boolean updateBook(int userId, Book book) throws IOException {
+        Book existing = books.get(book.getId());
+        if (existing == null || existing.getUserId() != userId) {
+            return false;
+        }
+        String isbn = normalizeIsbn(book.getIsbn());
+        Integer owner = isbn != null ? bookIdByIsbn.get(isbn) : null;
+        if (owner != null && owner != book.getId()) {
+            throw new IllegalStateException("Duplicate entry '" + book.getIsbn() + "' for key 'isbn'");
+        }
+        Book stored = new Book(book);
+        stored.setUserId(userId);
+        stored.setDateAdded(existing.getDateAdded());
+        stored.setDateUpdated(LocalDateTime.now());
+        append(encodeBook(stored));
+        applyBook(stored);
+        compactIfNeeded();
+        book.setDateUpdated(stored.getDateUpdated());
+        return true;
+    }
+
+    /**
+     * @return false jika buku tidak ada atau milik user lain
+     */
+    synchronized boolean deleteBook(int userId, int bookId) throws IOException {
+        Book existing = books.get(bookId);
+        if (existing == null || existing.getUserId() != userId) {
+            return false;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_BOOK_DELETE);
+        out.writeInt(bookId);
+        append(bytes.toByteArray());
+        applyDelete(bookId);
+        deletionsByUser.computeIfAbsent(userId, u -> new HashMap<>()).put(bookId, LocalDateTime.now());
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Buku milik user yang dihapus sejak waktu tertentu (inklusif)
+     * @return bookId -> waktu dihapus
+     */
+    synchronized Map<Integer, LocalDateTime> getDeletionsSince(int userId, LocalDateTime since) {
+        Map<Integer, LocalDateTime> deletions = new HashMap<>();
+        Map<Integer, LocalDateTime> log = deletionsByUser.get(userId);
+        if (log != null) {
+            for (Map.Entry<Integer, LocalDateTime> entry : log.entrySet()) {
+                if (!entry.getValue().isBefore(since)) {
+                    deletions.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return deletions;
+    }
+
+    /**
+     * Membuang tombstone user yang lebih tua dari batas retensi
+     */
+    synchronized void pruneDeletions(int userId, LocalDateTime before) {
+        Map<Integer, LocalDateTime> log = deletionsByUser.get(userId);
+        if (log != null) {
+            log.values().removeIf(deletedAt -> deletedAt.isBefore(before));
+        }
+    }
+
+    // ===== Info =====
+
+    public synchronized String getInfo() {
+        return "Embedded storage: " + directory.toAbsolutePath();
+    }
+
+    public synchronized String getStats() {
+        long snapshotBytes = 0;
+        long journalBytes = 0;
+        try {
+            snapshotBytes = Files.exists(snapshotFile) ? Files.size(snapshotFile) : 0;
+            journalBytes = Files.exists(journalFile) ? Files.size(journalFile) : 0;
+        } catch (IOException e) {
+            System.err.println("Gagal membaca ukuran file data: " + e.getMessage());
+        }
+        return String.format("Embedded storage: %d user, %d buku%nSnapshot %.1f KB, journal %.1f KB (%d record)",
+                usersByName.size(), books.size(), snapshotBytes / 1024.0, journalBytes / 1024.0, journalRecords);
+    }
+
+    /**
+     * Memadatkan journal ke snapshot lalu melepas folder data
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            compact();
+        } catch (IOException e) {
+            System.err.println("Gagal memadatkan data embedded: " + e.getMessage());
+            e.printStackTrace();
+        }
+        try {
+            journal.close();
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("Gagal menutup data embedded: " + e.getMessage());
+        }
+    }
+
+    // ===== Journal =====
+
+    private void openJournal() throws IOException {
+        journalChannel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journalChannel.position(journalChannel.size());
+        journal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(journalChannel), 64 * 1024));
+    }
+
+    /**
+     * Menulis record ke journal; data di memori baru diubah setelah penulisan berhasil
+     */
+    private void append(byte[]... records) throws IOException {
+        if (closed) {
+            throw new IOException("Penyimpanan embedded sudah ditutup");
+        }
+        for (byte[] record : records) {
+            writeRecord(journal, record);
+        }
+        journal.flush();
+        journalRecords += records.length;
+    }
+
+    // Dipanggil setelah record diterapkan ke memori, agar snapshot memuat perubahan terakhir
+    private void compactIfNeeded() throws IOException {
+        if (journalRecords >= COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    /**
+     * Menulis seluruh isi memori ke snapshot baru (atomic rename) lalu mengosongkan journal
+     */
+    private void compact() throws IOException {
+        Path temp = directory.resolve("bookshelf.snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024))) {
+            for (UserRecord user : usersByName.values()) {
+                writeRecord(out, encodeUser(user));
+            }
+            for (Map<Integer, Book> shelf : booksByUser.values()) {
+                for (Book book : shelf.values()) {
+                    writeRecord(out, encodeBook(book));
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Record di journal sekarang sudah ada di snapshot (memutar ulang record yang sama aman)
+        journal.flush();
+        journalChannel.truncate(0);
+        journalChannel.position(0);
+        journalRecords = 0;
+    }
+
+    // Format record: MAGIC, panjang, CRC32, isi
+    private static void writeRecord(DataOutputStream out, byte[] record) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        out.writeInt(MAGIC);
+        out.writeInt(record.length);
+        out.writeInt((int) crc.getValue());
+        out.write(record);
+    }
+
+    /**
+     * Membaca dan menerapkan semua record dari file
+     * @param truncateTail true jika record rusak di akhir file dibuang (journal)
+     * @return Jumlah record yang diterapkan
+     */
+    private int replay(Path file, boolean truncateTail) throws IOException {
+        long validBytes = 0;
+        int count = 0;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+             DataInputStream in = new DataInputStream(raw)) {
+            while (true) {
+                byte[] record;
+                try {
+                    if (in.readInt() != MAGIC) {
+                        break;
+                    }
+                    int length = in.readInt();
+                    int expectedCrc = in.readInt();
+                    if (length < 0 || length > 16 * 1024 * 1024) {
+                        break;
+                    }
+                    record = new byte[length];
+                    in.readFully(record);
+                    CRC32 crc = new CRC32();
+                    crc.update(record);
+                    if ((int) crc.getValue() != expectedCrc) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(record);
+                validBytes += 12 + record.length;
+                count++;
+            }
+        }
+
+        if (validBytes < Files.size(file)) {
+            if (!truncateTail) {
+                throw new IOException("File data rusak: " + file);
+            }
+            System.err.println("Journal embedded terpotong, " + (Files.size(file) - validBytes) + " byte terakhir dibuang");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+        return count;
+    }
+
+    private void apply(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(record));
+        byte op = in.readByte();
+        switch (op) {
+            case OP_USER:
+                applyUser(new UserRecord(in.readInt(), readString(in), readString(in)));
+                break;
+            case OP_BOOK_PUT:
+                applyBook(decodeBook(in));
+                break;
+            case OP_BOOK_DELETE:
+                applyDelete(in.readInt());
+                break;
+            default:
+                throw new IOException("Jenis record tidak dikenal: " + op);
+        }
+    }
+
+    private void applyUser(UserRecord user) {
+        usersByName.put(user.username, user);
+        nextUserId = Math.max(nextUserId, user.id + 1);
+    }
+
+    private void applyBook(Book book) {
+        Book previous = books.put(book.getId(), book);
+        if (previous != null) {
+            unindexIsbn(previous);
+            if (previous.getUserId() != book.getUserId()) {
+                booksByUser.get(previous.getUserId()).remove(previous.getId());
+            }
+        }
+        booksByUser.computeIfAbsent(book.getUserId(), u -> new LinkedHashMap<>()).put(book.getId(), book);
+        String isbn = normalizeIsbn(book.getIsbn());
+        if (isbn != null) {
+            bookIdByIsbn.put(isbn, book.getId());
+        }
+        nextBookId = Math.max(nextBookId, book.getId() + 1);
+    }
+
+    private void applyDelete(int bookId) {
+        Book removed = books.remove(bookId);
+        if (removed != null) {
+            unindexIsbn(removed);
+            Map<Integer, Book> shelf = booksByUser.get(removed.getUserId());
+            if (shelf != null) {
+                shelf.remove(bookId);
+            }
+        }
+    }
+
+    private void unindexIsbn(Book book) {
+        String isbn = normalizeIsbn(book.getIsbn());
+        if (isbn != null) {
+            bookIdByIsbn.remove(isbn, book.getId());
+        }
+    }
+
+    // ISBN kosong dianggap tidak ada (tidak ikut aturan unik)
+    private static String normalizeIsbn(String isbn) {
+        return isbn == null || isbn.trim().isEmpty() ? null : isbn.trim();
+    }
+
+    // ===== Encoding record =====
+
+    private static byte[] encodeUser(UserRecord user) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_USER);
+        out.writeInt(user.id);
+        writeString(out, user.username);
+        writeString(out, user.password);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeBook(Book book) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_BOOK_PUT);
+        out.writeInt(book.getId());
+        out.writeInt(book.getUserId());
+        writeString(out, book.getTitle());
+        writeString(out, book.getAuthor());
+        writeString(out, book.getIsbn());
+        writeString(out, book.getGenre());
+        out.writeInt(book.getPublicationYear());
+        out.writeInt(book.getPages());
+        writeString(out, book.getDescription());
+        out.writeDouble(book.getRating());
+        writeString(out, book.getStatus());
+        writeString(out, book.getDateAdded() != null ? book.getDateAdded().toString() : null);
+        writeString(out, book.getDateUpdated() != null ? book.getDateUpdated().toString() : null);
+        return bytes.toByteArray();
+    }
+
+    private static Book decodeBook(DataInputStream in) throws IOException {
+        Book book = new Book();
+        book.setId(in.readInt());
+        book.setUserId(in.readInt());
+        book.setTitle(readString(in));
+        book.setAuthor(readString(in));
+        book.setIsbn(readString(in));
+        book.setGenre(readString(in));
+        book.setPublicationYear(in.readInt());
+        book.setPages(in.readInt());
+        book.setDescription(readString(in));
+        book.setRating(in.readDouble());
+        book.setStatus(readString(in));
+        String dateAdded = readString(in);
+        String dateUpdated = readString(in);
+        book.setDateAdded(dateAdded != null ? LocalDateTime.parse(dateAdded) : null);
+        book.setDateUpdated(dateUpdated != null ? LocalDateTime.parse(dateUpdated) : null);
+        return book;
+    }
+
+    // String UTF-8 dengan panjang di depan; -1 untuk null (writeUTF dibatasi 64 KB)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Data satu user di penyimpanan embedded
+     */
+    private static class UserRecord {
+        final int id;
+        final String username;
+        final String password;
+
+        UserRecord(int id, String username, String password) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+        }
+    }
+}
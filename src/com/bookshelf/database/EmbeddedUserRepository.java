@@ -0,0 +1,51 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.User;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * UserRepository di atas EmbeddedStore (tanpa server database)
+ */
+public class EmbeddedUserRepository implements UserRepository {
+
+    private final EmbeddedStore store;
+
+    public EmbeddedUserRepository(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean register(User user) throws SQLException {
+        try {
+            int id = store.addUser(user.getUsername(), user.getPassword());
+            if (id > 0) {
+                user.setId(id);
+            }
+            return id > 0;
+        } catch (IOException e) {
+            throw new SQLException("Gagal menyimpan user: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public User authenticate(String username, String password) {
+        int id = store.findUser(username, password);
+        // Penyimpanan embedded tidak mencatat waktu daftar
+        return id > 0 ? new User(id, username, null) : null;
+    }
+
+    @Override
+    public boolean login(String username, String password) {
+        return authenticate(username, password) != null;
+    }
+
+    @Override
+    public int getUserIdByUsername(String username) throws SQLException {
+        int id = store.findUser(username, null);
+        if (id < 0) {
+            throw new SQLException("User not found");
+        }
+        return id;
+    }
+}
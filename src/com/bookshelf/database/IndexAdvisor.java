@@ -0,0 +1,496 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.BookPage;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Alat bantu index: menjalankan workload BookDAO sambil merekam bentuk query yang dieksekusi,
+ * menjalankan EXPLAIN dan mengukur latency tiap query, lalu mengusulkan index komposit
+ * (kolom kesetaraan, kolom ORDER BY, lalu kolom rentang) untuk query yang masih scan/filesort.
+ *
+ * Pemakaian: java com.bookshelf.database.IndexAdvisor [--user=ID] [--runs=N] [--apply]
+ * Tanpa --apply hanya laporan dan usulan; dengan --apply index dibuat lalu diukur ulang.
+ */
+public class IndexAdvisor {
+
+    private static final String TABLE = "books";
+    private static final Set<String> BOOK_COLUMNS = Set.of(
+            "id", "title", "author", "isbn", "genre", "publication_year", "pages", "description",
+            "rating", "status", "date_added", "date_updated", "user_id");
+    private static final Pattern SELECT_FROM_BOOKS = Pattern.compile(
+            "^SELECT .+? FROM books(?: WHERE (.+?))?(?: GROUP BY .+?)?(?: ORDER BY (.+?))?(?: LIMIT .+)?$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONDITION = Pattern.compile(
+            "^(\\w+) ?(=|>=|<=|>|<| IN) ?(.+)$", Pattern.CASE_INSENSITIVE);
+    private static final int WARMUP_RUNS = 3;
+
+    private final DatabaseManager dbManager;
+    private final int runs;
+
+    public IndexAdvisor(DatabaseManager dbManager, int runs) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs harus minimal 1: " + runs);
+        }
+        this.dbManager = dbManager;
+        this.runs = runs;
+    }
+
+    public static void main(String[] args) {
+        Integer userId = null;
+        int runs = 30;
+        boolean apply = false;
+        for (String arg : args) {
+            if (arg.equals("--apply")) {
+                apply = true;
+            } else if (arg.startsWith("--user=")) {
+                userId = Integer.parseInt(arg.substring("--user=".length()));
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(arg.substring("--runs=".length()));
+                if (runs < 1) {
+                    System.err.println("--runs harus minimal 1");
+                    System.exit(2);
+                }
+            } else {
+                System.err.println("Argumen tidak dikenal: " + arg);
+                System.err.println("Pemakaian: IndexAdvisor [--user=ID] [--runs=N] [--apply]");
+                System.exit(2);
+            }
+        }
+
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        try {
+            IndexAdvisor advisor = new IndexAdvisor(dbManager, runs);
+            System.out.println(advisor.run(userId, apply));
+        } catch (SQLException e) {
+            System.err.println("Index advisor gagal: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            dbManager.closeConnection();
+        }
+    }
+
+    /**
+     * Menjalankan seluruh alur: workload, EXPLAIN + ukur, usulan, (opsional) terapkan dan ukur ulang
+     * @return Laporan before/after dalam bentuk teks
+     */
+    public String run(Integer userId, boolean apply) throws SQLException {
+        int user = userId != null ? userId : findBusiestUser();
+        List<QueryRecorder.Shape> shapes = recordWorkload(user);
+
+        List<Analysis> analyses = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection()) {
+            Map<String, List<String>> existing = readIndexes(conn);
+            for (QueryRecorder.Shape shape : shapes) {
+                if (!shape.shape.toUpperCase(Locale.ROOT).startsWith("SELECT")) {
+                    continue;
+                }
+                Analysis analysis = new Analysis(shape);
+                analysis.before = explain(conn, shape);
+                analysis.beforeLatency = measure(conn, shape);
+                analysis.proposal = propose(shape.shape, analysis.before, existing);
+                analyses.add(analysis);
+            }
+        }
+
+        // Usulan yang merupakan prefix dari usulan lain cukup diwakili oleh yang lebih panjang
+        Map<String, List<String>> proposals = new LinkedHashMap<>();
+        for (Analysis analysis : analyses) {
+            if (analysis.proposal != null) {
+                proposals.put(indexName(analysis.proposal), analysis.proposal);
+            }
+        }
+        proposals.entrySet().removeIf(candidate -> proposals.values().stream().anyMatch(other ->
+                other != candidate.getValue() && isPrefix(candidate.getValue(), other)));
+
+        if (apply && !proposals.isEmpty()) {
+            try (Connection conn = dbManager.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                for (Map.Entry<String, List<String>> index : proposals.entrySet()) {
+                    stmt.execute("ALTER TABLE " + TABLE + " ADD INDEX " + index.getKey()
+                            + " (" + String.join(", ", index.getValue()) + ")");
+                }
+                stmt.execute("ANALYZE TABLE " + TABLE);
+                for (Analysis analysis : analyses) {
+                    analysis.after = explain(conn, analysis.shape);
+                    analysis.afterLatency = measure(conn, analysis.shape);
+                }
+            }
+        }
+        return buildReport(user, analyses, proposals, apply);
+    }
+
+    // ===== Workload =====
+
+    /**
+     * User dengan buku terbanyak, agar query yang diukur mewakili rak yang besar
+     */
+    private int findBusiestUser() throws SQLException {
+        String sql = "SELECT user_id FROM books WHERE user_id IS NOT NULL GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Belum ada buku milik user; jalankan dengan --user=ID setelah menambah data");
+            }
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Memanggil semua method baca BookDAO dengan nilai contoh dari data user, sambil merekam query
+     */
+    private List<QueryRecorder.Shape> recordWorkload(int userId) {
+        BookDAO dao = new BookDAO(userId);
+        BookCache.getInstance().invalidate(userId);
+        List<Book> shelf = dao.getBooksByUserId();
+        Book sample = shelf.isEmpty() ? new Book() : shelf.get(shelf.size() / 2);
+        String genre = sample.getGenre() != null ? sample.getGenre() : "Programming";
+        String status = sample.getStatus();
+        String term = sample.getTitle() != null && sample.getTitle().length() >= 3
+                ? sample.getTitle().substring(0, 3) : "a";
+
+        QueryRecorder recorder = QueryRecorder.getInstance();
+        recorder.reset();
+        recorder.start();
+        try {
+            BookCache.getInstance().invalidate(userId);
+            dao.getBooksByUserId();
+            dao.getBooksCountByUserId();
+            int[] ids = dao.getBookIdsByUserId();
+            List<Integer> window = new ArrayList<>();
+            for (int i = 0; i < Math.min(50, ids.length); i++) {
+                window.add(ids[i]);
+            }
+            if (!window.isEmpty()) {
+                dao.getBooksByIds(window);
+                dao.getBookById(window.get(0));
+            }
+            for (BookPage.Sort sort : BookPage.Sort.values()) {
+                BookPage first = dao.getBooksPage(sort, null, 50);
+                if (first.hasNext()) {
+                    dao.getBooksPage(sort, first.getNextCursor(), 50);
+                }
+            }
+            dao.searchBooks(term);
+            dao.searchBooksFullText(term);
+            dao.getBooksByStatus(status);
+            dao.getBooksByGenre(genre);
+            dao.searchBooksWithFilters(null, genre, status, 3.0);
+            dao.searchBooksWithFilters(null, genre, null, null);
+            dao.searchBooksWithFilters(term, null, status, null);
+            dao.getTopRatedBooks(10);
+            dao.getRecentlyAddedBooks(10);
+            dao.getBooksCountByStatus(status);
+            dao.getAllGenres();
+            dao.getAllAuthors();
+            dao.isIsbnExists(sample.getIsbn() != null ? sample.getIsbn() : "0");
+        } finally {
+            recorder.stop();
+        }
+        return recorder.getShapes();
+    }
+
+    // ===== EXPLAIN dan pengukuran =====
+
+    private Explain explain(Connection conn, QueryRecorder.Shape shape) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + shape.sampleSql)) {
+            bind(pstmt, shape);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                Explain explain = new Explain();
+                while (rs.next()) {
+                    if (!TABLE.equals(rs.getString("table"))) {
+                        continue;
+                    }
+                    explain.type = rs.getString("type");
+                    explain.key = rs.getString("key");
+                    explain.rows += rs.getLong("rows");
+                    String extra = rs.getString("Extra");
+                    explain.filesort |= extra != null && extra.contains("Using filesort");
+                    explain.covering |= extra != null && extra.contains("Using index") && !extra.contains("condition");
+                }
+                return explain;
+            }
+        }
+    }
+
+    /**
+     * Median dan p95 latency (ms) dari beberapa eksekusi setelah warm-up
+     */
+    private double[] measure(Connection conn, QueryRecorder.Shape shape) throws SQLException {
+        long[] samples = new long[runs];
+        try (PreparedStatement pstmt = conn.prepareStatement(shape.sampleSql)) {
+            bind(pstmt, shape);
+            for (int i = -WARMUP_RUNS; i < runs; i++) {
+                long start = System.nanoTime();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        // Baca semua baris agar waktu transfer ikut terukur
+                    }
+                }
+                if (i >= 0) {
+                    samples[i] = System.nanoTime() - start;
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return new double[] {
+            samples[samples.length / 2] / 1e6,
+            samples[Math.min(samples.length - 1, (int) Math.ceil(samples.length * 0.95) - 1)] / 1e6
+        };
+    }
+
+    private static void bind(PreparedStatement pstmt, QueryRecorder.Shape shape) throws SQLException {
+        int placeholders = (int) shape.sampleSql.chars().filter(c -> c == '?').count();
+        for (int i = 0; i < placeholders; i++) {
+            pstmt.setObject(i + 1, i < shape.sampleParams.length ? shape.sampleParams[i] : null);
+        }
+    }
+
+    // ===== Usulan index =====
+
+    /**
+     * Menyusun index komposit untuk satu bentuk query: kolom "= ?" lebih dulu, lalu kolom ORDER BY
+     * (agar hasil keluar terurut tanpa filesort), lalu kolom rentang (untuk index condition pushdown).
+     * @return Daftar kolom index, atau null jika query sudah terlayani index yang ada
+     */
+    static List<String> propose(String sql, Explain before, Map<String, List<String>> existing) {
+        Matcher matcher = SELECT_FROM_BOOKS.matcher(sql);
+        if (!matcher.matches() || sql.toUpperCase(Locale.ROOT).contains("MATCH(")) {
+            return null;
+        }
+        List<String> equality = new ArrayList<>();
+        List<String> range = new ArrayList<>();
+        if (matcher.group(1) != null) {
+            for (String condition : splitTopLevel(matcher.group(1), " AND ")) {
+                Matcher c = CONDITION.matcher(condition.trim());
+                if (!c.matches() || !BOOK_COLUMNS.contains(c.group(1).toLowerCase(Locale.ROOT))) {
+                    continue; // LIKE, OR, IS NOT NULL, != dan sejenisnya tidak bisa memakai awalan index
+                }
+                String column = c.group(1).toLowerCase(Locale.ROOT);
+                String operator = c.group(2).trim();
+                if (operator.equals("=") || operator.equalsIgnoreCase("IN")) {
+                    addOnce(equality, column);
+                } else {
+                    addOnce(range, column);
+                }
+            }
+        }
+
+        // Pencarian lewat primary key sudah optimal; id juga otomatis ada di setiap index InnoDB
+        if (equality.contains("id")) {
+            return null;
+        }
+        range.remove("id");
+
+        List<String> columns = new ArrayList<>(equality);
+        if (matcher.group(2) != null) {
+            List<String> order = orderColumns(matcher.group(2));
+            if (order != null) {
+                for (String column : order) {
+                    if (!columns.contains(column.split(" ")[0])) {
+                        columns.add(column);
+                    }
+                }
+            }
+        }
+        for (String column : range) {
+            if (columns.stream().noneMatch(existingColumn -> existingColumn.split(" ")[0].equals(column))) {
+                columns.add(column);
+            }
+        }
+        if (columns.isEmpty()) {
+            return null;
+        }
+
+        boolean problem = before == null || before.key == null || "ALL".equals(before.type)
+                || "index".equals(before.type) || before.filesort;
+        for (List<String> index : existing.values()) {
+            if (isPrefix(columns, index)) {
+                return null;
+            }
+        }
+        return problem ? columns : null;
+    }
+
+    /**
+     * Kolom ORDER BY beserta arah; semua DESC diubah menjadi ASC (index dibaca mundur).
+     * Kolom id di akhir dibuang karena InnoDB sudah menyimpan primary key di setiap index.
+     * @return null jika ada ekspresi yang bukan kolom books
+     */
+    private static List<String> orderColumns(String orderBy) {
+        List<String> columns = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        for (String part : orderBy.split(",")) {
+            String[] tokens = part.trim().split(" ");
+            String column = tokens[0].toLowerCase(Locale.ROOT);
+            if (!BOOK_COLUMNS.contains(column)) {
+                return null;
+            }
+            columns.add(column);
+            descending.add(tokens.length > 1 && tokens[1].equalsIgnoreCase("DESC"));
+        }
+        int last = columns.size() - 1;
+        if (last > 0 && columns.get(last).equals("id") && descending.get(last).equals(descending.get(last - 1))) {
+            columns.remove(last);
+            descending.remove(last);
+        }
+        boolean allDescending = !descending.contains(false);
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            result.add(descending.get(i) && !allDescending ? columns.get(i) + " DESC" : columns.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Index yang sudah ada: nama -> kolom berurutan (dengan " DESC" untuk kolom menurun)
+     */
+    private static Map<String, List<String>> readIndexes(Connection conn) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        String sql = """
+            SELECT INDEX_NAME, COLUMN_NAME, COLLATION FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_TYPE = 'BTREE'
+            ORDER BY INDEX_NAME, SEQ_IN_INDEX
+        """;
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, TABLE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String column = rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT);
+                    if ("D".equals(rs.getString("COLLATION"))) {
+                        column += " DESC";
+                    }
+                    indexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new ArrayList<>()).add(column);
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<String> columns) {
+        return prefix.size() <= columns.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private static String indexName(List<String> columns) {
+        StringBuilder name = new StringBuilder("idx_adv");
+        for (String column : columns) {
+            name.append('_').append(column.split(" ")[0]);
+        }
+        return name.length() > 64 ? name.substring(0, 64) : name.toString();
+    }
+
+    private static void addOnce(List<String> columns, String column) {
+        if (!columns.contains(column)) {
+            columns.add(column);
+        }
+    }
+
+    /**
+     * Memecah kondisi WHERE pada separator yang tidak berada di dalam tanda kurung
+     */
+    private static List<String> splitTopLevel(String text, String separator) {
+        List<String> parts = new ArrayList<>();
+        String upper = text.toUpperCase(Locale.ROOT);
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && upper.startsWith(separator, i)) {
+                parts.add(text.substring(start, i));
+                start = i + separator.length();
+                i = start - 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    // ===== Laporan =====
+
+    private String buildReport(int userId, List<Analysis> analyses, Map<String, List<String>> proposals, boolean applied) {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Index Advisor (user_id=").append(userId).append(", ")
+              .append(runs).append(" eksekusi per query) ===\n\n");
+        for (int i = 0; i < analyses.size(); i++) {
+            Analysis analysis = analyses.get(i);
+            report.append(String.format("[%d] %s%n", i + 1, analysis.shape.shape));
+            report.append(String.format("    dipanggil %dx oleh workload%n", analysis.shape.count));
+            report.append("    before: ").append(describe(analysis.before, analysis.beforeLatency)).append('\n');
+            if (analysis.proposal != null) {
+                report.append("    usulan: (").append(String.join(", ", analysis.proposal)).append(")\n");
+            }
+            if (analysis.after != null) {
+                report.append("    after : ").append(describe(analysis.after, analysis.afterLatency));
+                report.append(String.format("  (%.1fx)%n", analysis.beforeLatency[0] / Math.max(analysis.afterLatency[0], 0.001)));
+            }
+        }
+
+        report.append("\nIndex yang diusulkan: ").append(proposals.isEmpty() ? "tidak ada" : "").append('\n');
+        for (Map.Entry<String, List<String>> index : proposals.entrySet()) {
+            report.append("  ALTER TABLE ").append(TABLE).append(" ADD INDEX ").append(index.getKey())
+                  .append(" (").append(String.join(", ", index.getValue())).append(");")
+                  .append(applied ? "  -- diterapkan" : "").append('\n');
+        }
+        if (!proposals.isEmpty()) {
+            report.append("\nAgar permanen, tambahkan sebagai migrasi baru di SchemaMigrator, misal:\n");
+            report.append("  Migration.version(").append(SchemaMigrator.latestVersion() + 1)
+                  .append(", \"Add composite indexes from IndexAdvisor\")\n");
+            for (Map.Entry<String, List<String>> index : proposals.entrySet()) {
+                report.append("      .addIndex(\"").append(TABLE).append("\", \"").append(index.getKey())
+                      .append("\", \"INDEX ").append(index.getKey()).append(" (")
+                      .append(String.join(", ", index.getValue())).append(")\")\n");
+            }
+            report.append("      .build()\n");
+        }
+        return report.toString();
+    }
+
+    private static String describe(Explain explain, double[] latency) {
+        return String.format("type=%s key=%s rows=%d%s%s  p50=%.2fms p95=%.2fms",
+                explain.type, explain.key != null ? explain.key : "-", explain.rows,
+                explain.filesort ? " filesort" : "", explain.covering ? " covering" : "",
+                latency[0], latency[1]);
+    }
+
+    /**
+     * Ringkasan hasil EXPLAIN untuk tabel books
+     */
+    static final class Explain {
+        String type;
+        String key;
+        long rows;
+        boolean filesort;
+        boolean covering;
+    }
+
+    private static final class Analysis {
+        final QueryRecorder.Shape shape;
+        Explain before;
+        Explain after;
+        double[] beforeLatency;
+        double[] afterLatency;
+        List<String> proposal;
+
+        Analysis(QueryRecorder.Shape shape) {
+            this.shape = shape;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.bookshelf.database;
+
+import com.bookshelf.metrics.MetricsRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Melacak Statement dan ResultSet yang dibuka lewat koneksi pool. Resource yang belum ditutup
+ * saat koneksi dikembalikan dilaporkan sebagai kebocoran lalu ditutup paksa; koneksi yang tidak
+ * pernah dikembalikan dilaporkan saat pool ditutup.
+ * Mode diatur lewat system property "bookshelf.jdbc.leaks":
+ * off, count (default, hanya hitungan statement; ResultSet tidak dibungkus), trace (statement dan ResultSet
+ * beserta stack alokasi), strict (trace + IllegalStateException).
+ */
+final class LeakDetector {
+
+    enum Mode { OFF, COUNT, TRACE, STRICT }
+
+    private static final LeakDetector INSTANCE = new LeakDetector(parseMode(System.getProperty("bookshelf.jdbc.leaks")));
+    private static final int STACK_DEPTH = 8;
+
+    private final Mode mode;
+    // Koneksi yang sedang dipinjam
+    private final Set<Scope> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openStatements = new AtomicInteger();
+    private final AtomicInteger openResultSets = new AtomicInteger();
+    private final AtomicLong leakedStatements = new AtomicLong();
+    private final AtomicLong leakedResultSets = new AtomicLong();
+
+    private LeakDetector(Mode mode) {
+        this.mode = mode;
+        if (mode != Mode.OFF) {
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.registerGauge("jdbc.connections.borrowed", borrowed::size);
+            metrics.registerGauge("jdbc.statements.open", openStatements::get);
+            metrics.registerGauge("jdbc.resultSets.open", openResultSets::get);
+            metrics.registerGauge("jdbc.statements.leaked", leakedStatements::get);
+            metrics.registerGauge("jdbc.resultSets.leaked", leakedResultSets::get);
+        }
+    }
+
+    static LeakDetector getInstance() {
+        return INSTANCE;
+    }
+
+    static Mode parseMode(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Mode.COUNT;
+        }
+        try {
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Mode bookshelf.jdbc.leaks tidak dikenal: " + value + " (dipakai: count)");
+            return Mode.COUNT;
+        }
+    }
+
+    Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Mulai melacak satu peminjaman koneksi
+     * @return Scope pelacakan, atau null jika deteksi dimatikan
+     */
+    Scope open(String connectionLabel) {
+        if (mode == Mode.OFF) {
+            return null;
+        }
+        Scope scope = new Scope(connectionLabel, allocationStack());
+        borrowed.add(scope);
+        return scope;
+    }
+
+    /**
+     * Melaporkan koneksi yang belum dikembalikan beserta resource-nya (dipanggil saat pool ditutup)
+     * @return Jumlah koneksi yang belum dikembalikan
+     * @throws IllegalStateException pada mode strict jika masih ada koneksi yang dipinjam
+     */
+    int reportOutstanding() {
+        List<Scope> outstanding = new ArrayList<>(borrowed);
+        if (outstanding.isEmpty()) {
+            return 0;
+        }
+        StringBuilder report = new StringBuilder();
+        report.append("⚠ Kebocoran JDBC: ").append(outstanding.size())
+              .append(" koneksi belum dikembalikan ke pool saat shutdown\n");
+        for (Scope scope : outstanding) {
+            report.append("- ").append(scope.label).append('\n');
+            appendStack(report, scope.allocation, "    dipinjam di");
+            for (Tracked tracked : scope.snapshot()) {
+                appendTracked(report, tracked);
+            }
+        }
+        System.err.print(report);
+        if (mode == Mode.STRICT) {
+            throw new IllegalStateException(report.toString());
+        }
+        return outstanding.size();
+    }
+
+    /**
+     * Ringkasan hitungan handle untuk statistik pool
+     */
+    String getStats() {
+        if (mode == Mode.OFF) {
+            return "JDBC leak detector: off";
+        }
+        return String.format("JDBC handle (%s): dipinjam %d, statement terbuka %d, result set terbuka %d, "
+                + "bocor %d statement / %d result set",
+                mode.name().toLowerCase(Locale.ROOT), borrowed.size(), openStatements.get(), openResultSets.get(),
+                leakedStatements.get(), leakedResultSets.get());
+    }
+
+    // Stack alokasi hanya diambil pada mode trace/strict karena biayanya lebih besar dari query ringan
+    private Throwable allocationStack() {
+        return mode == Mode.TRACE || mode == Mode.STRICT ? new Throwable() : null;
+    }
+
+    private static void appendTracked(StringBuilder report, Tracked tracked) {
+        report.append("  ").append(tracked.kind());
+        if (tracked.description != null) {
+            report.append(": ").append(QueryRecorder.normalize(tracked.description));
+        }
+        report.append('\n');
+        appendStack(report, tracked.allocation, "    dibuat di");
+    }
+
+    /**
+     * Menulis frame stack milik aplikasi (frame proxy, reflection, dan pool dilewati)
+     */
+    private static void appendStack(StringBuilder report, Throwable allocation, String title) {
+        if (allocation == null) {
+            return;
+        }
+        report.append(title).append(":\n");
+        int written = 0;
+        for (StackTraceElement frame : allocation.getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.equals(LeakDetector.class.getName()) || className.startsWith(LeakDetector.class.getName() + "$")
+                    || className.startsWith(ConnectionPool.class.getName())
+                    || className.startsWith("java.lang.reflect.") || className.startsWith("jdk.")
+                    || className.startsWith("com.sun.proxy.") || className.contains("$Proxy")) {
+                continue;
+            }
+            report.append("\tat ").append(frame).append('\n');
+            if (++written == STACK_DEPTH) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Resource yang dibuka selama satu peminjaman koneksi
+     */
+    final class Scope {
+        private final String label;
+        private final Throwable allocation;
+        private final Set<Tracked> open = new LinkedHashSet<>();
+
+        private Scope(String label, Throwable allocation) {
+            this.label = label;
+            this.allocation = allocation;
+        }
+
+        /**
+         * Membungkus statement agar close()-nya (dan ResultSet yang dibuatnya) ikut dilacak
+         * @param type Interface statement (Statement, PreparedStatement, atau CallableStatement)
+         * @param sql Teks SQL untuk laporan, boleh null
+         */
+        Statement wrap(Statement statement, Class<?> type, String sql) {
+            Tracked tracked = new Tracked(statement, sql, allocationStack(), null);
+            add(tracked);
+            Statement proxy = (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    new TrackingHandler(tracked));
+            tracked.proxy = proxy;
+            return proxy;
+        }
+
+        /**
+         * Dipanggil saat koneksi dikembalikan: laporkan dan tutup resource yang masih terbuka
+         * @throws IllegalStateException pada mode strict jika ada yang bocor
+         */
+        void close() {
+            borrowed.remove(this);
+            List<Tracked> leaked = snapshot();
+            if (leaked.isEmpty()) {
+                return;
+            }
+            StringBuilder report = new StringBuilder();
+            int statements = 0;
+            int resultSets = 0;
+            for (Tracked tracked : leaked) {
+                if (tracked.parent == null) {
+                    statements++;
+                } else {
+                    resultSets++;
+                }
+            }
+            leakedStatements.addAndGet(statements);
+            leakedResultSets.addAndGet(resultSets);
+            report.append("⚠ Kebocoran JDBC: ").append(statements).append(" statement dan ").append(resultSets)
+                  .append(" result set belum ditutup saat koneksi dikembalikan ke pool\n");
+            for (Tracked tracked : leaked) {
+                appendTracked(report, tracked);
+            }
+            System.err.print(report);
+
+            // Tutup paksa (ResultSet lebih dulu) agar statement kembali ke cache dan cursor server dilepas
+            for (int i = leaked.size() - 1; i >= 0; i--) {
+                leaked.get(i).closeQuietly();
+                remove(leaked.get(i));
+            }
+            if (mode == Mode.STRICT) {
+                throw new IllegalStateException(report.toString());
+            }
+        }
+
+        private synchronized void add(Tracked tracked) {
+            open.add(tracked);
+            (tracked.parent == null ? openStatements : openResultSets).incrementAndGet();
+        }
+
+        private synchronized void remove(Tracked tracked) {
+            if (open.remove(tracked)) {
+                (tracked.parent == null ? openStatements : openResultSets).decrementAndGet();
+            }
+        }
+
+        private synchronized List<Tracked> snapshot() {
+            return new ArrayList<>(open);
+        }
+
+        /**
+         * InvocationHandler untuk proxy Statement/ResultSet yang dilacak
+         */
+        private final class TrackingHandler implements InvocationHandler {
+            private final Tracked tracked;
+
+            TrackingHandler(Tracked tracked) {
+                this.tracked = tracked;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        closed(tracked);
+                        break;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "getStatement":
+                        // ResultSet harus mengembalikan proxy statement, bukan statement aslinya
+                        if (tracked.parent != null) {
+                            return tracked.parent.proxy;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                Object result;
+                try {
+                    result = method.invoke(tracked.resource, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                // executeQuery, getResultSet, getGeneratedKeys, ...: ResultSet ikut dilacak pada mode trace/strict.
+                // Mode count mengembalikan ResultSet asli agar next()/getter di setiap baris tidak lewat
+                // Method.invoke; ResultSet tetap ikut tertutup saat statement-nya ditutup (termasuk tutup paksa).
+                if (result instanceof ResultSet && tracked.parent == null && mode != Mode.COUNT) {
+                    Tracked child = new Tracked(result, tracked.description, allocationStack(), tracked);
+                    synchronized (Scope.this) {
+                        tracked.children.add(child);
+                    }
+                    add(child);
+                    return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                            new Class<?>[] { ResultSet.class }, new TrackingHandler(child));
+                }
+                return result;
+            }
+
+            // Menutup statement juga menutup semua ResultSet-nya (sesuai spesifikasi JDBC)
+            private void closed(Tracked closed) {
+                List<Tracked> children;
+                synchronized (Scope.this) {
+                    children = new ArrayList<>(closed.children);
+                }
+                for (Tracked child : children) {
+                    remove(child);
+                }
+                remove(closed);
+            }
+        }
+    }
+
+    /**
+     * Satu Statement atau ResultSet yang sedang dilacak
+     */
+    private static final class Tracked {
+        final Object resource;
+        final String description;
+        final Throwable allocation;
+        // null untuk Statement; Statement pembuatnya untuk ResultSet
+        final Tracked parent;
+        final List<Tracked> children = new ArrayList<>();
+        // Proxy yang diberikan ke pemanggil (hanya untuk Statement)
+        Object proxy;
+
+        Tracked(Object resource, String description, Throwable allocation, Tracked parent) {
+            this.resource = resource;
+            this.description = description;
+            this.allocation = allocation;
+            this.parent = parent;
+        }
+
+        String kind() {
+            if (parent != null) {
+                return "ResultSet";
+            }
+            return resource instanceof java.sql.CallableStatement ? "CallableStatement"
+                    : resource instanceof java.sql.PreparedStatement ? "PreparedStatement" : "Statement";
+        }
+
+        void closeQuietly() {
+            try {
+                ((AutoCloseable) resource).close();
+            } catch (Exception e) {
+                // Resource memang dibuang, abaikan
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.bookshelf.database;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Satu versi perubahan skema database. Setiap langkah bersifat idempotent
+ * (dicek dulu ke information_schema), karena DDL MySQL tidak bisa di-rollback:
+ * migrasi yang gagal di tengah jalan aman untuk dijalankan ulang.
+ */
+final class Migration {
+
+    private final int version;
+    private final String description;
+    private final List<Step> steps;
+
+    private Migration(int version, String description, List<Step> steps) {
+        this.version = version;
+        this.description = description;
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+    static Builder version(int version, String description) {
+        return new Builder(version, description);
+    }
+
+    int getVersion() { return version; }
+
+    String getDescription() { return description; }
+
+    /**
+     * Checksum dari semua SQL di migrasi ini; berubah jika isi migrasi yang sudah dijalankan diedit
+     */
+    long getChecksum() {
+        CRC32 crc = new CRC32();
+        for (Step step : steps) {
+            // Spasi dinormalisasi agar perubahan indentasi tidak dianggap perubahan isi
+            String sql = step.sql.trim().replaceAll("\\s+", " ");
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Menjalankan semua langkah yang belum diterapkan
+     */
+    void apply(Connection connection) throws SQLException {
+        for (Step step : steps) {
+            if (step.guard == null || !step.guard.exists(connection)) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(step.sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder untuk menyusun langkah-langkah migrasi
+     */
+    static final class Builder {
+        private final int version;
+        private final String description;
+        private final List<Step> steps = new ArrayList<>();
+
+        private Builder(int version, String description) {
+            this.version = version;
+            this.description = description;
+        }
+
+        /**
+         * SQL yang sudah idempotent dengan sendirinya (misal CREATE TABLE IF NOT EXISTS)
+         */
+        Builder sql(String sql) {
+            steps.add(new Step(sql, null));
+            return this;
+        }
+
+        /**
+         * Menambah kolom jika belum ada
+         */
+        Builder addColumn(String table, String column, String definition) {
+            steps.add(new Step("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition,
+                    connection -> exists(connection,
+                            "SELECT COUNT(*) FROM information_schema.COLUMNS "
+                            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                            table, column)));
+            return this;
+        }
+
+        /**
+         * Menambah index jika belum ada (definition misal "INDEX idx_x (a, b)" atau "FULLTEXT INDEX ...")
+         */
+        Builder addIndex(String table, String indexName, String definition) {
+            steps.add(new Step("ALTER TABLE " + table + " ADD " + definition,
+                    connection -> exists(connection,
+                            "SELECT COUNT(*) FROM information_schema.STATISTICS "
+                            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?",
+                            table, indexName)));
+            return this;
+        }
+
+        /**
+         * Membuat trigger jika belum ada (sql berisi CREATE TRIGGER lengkap, boleh BEGIN ... END)
+         */
+        Builder addTrigger(String table, String triggerName, String sql) {
+            steps.add(new Step(sql,
+                    connection -> exists(connection,
+                            "SELECT COUNT(*) FROM information_schema.TRIGGERS "
+                            + "WHERE TRIGGER_SCHEMA = DATABASE() AND EVENT_OBJECT_TABLE = ? AND TRIGGER_NAME = ?",
+                            table, triggerName)));
+            return this;
+        }
+
+        Migration build() {
+            return new Migration(version, description, new ArrayList<>(steps));
+        }
+    }
+
+    private static boolean exists(Connection connection, String sql, String table, String name) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Guard {
+        boolean exists(Connection connection) throws SQLException;
+    }
+
+    private static final class Step {
+        private final String sql;
+        private final Guard guard;
+
+        private Step(String sql, Guard guard) {
+            this.sql = sql;
+            this.guard = guard;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bookshelf.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merekam bentuk query (SQL dengan placeholder) yang benar-benar dieksekusi lewat StatementCache,
+ * beserta jumlah eksekusi, total waktu, dan satu contoh parameter untuk EXPLAIN.
+ * Nonaktif secara default; selama nonaktif biayanya hanya satu pembacaan field volatile.
+ */
+final class QueryRecorder {
+
+    private static final QueryRecorder INSTANCE = new QueryRecorder();
+
+    private volatile boolean enabled = false;
+    private final Map<String, Shape> shapes = new LinkedHashMap<>();
+
+    private QueryRecorder() {
+    }
+
+    static QueryRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void start() {
+        enabled = true;
+    }
+
+    void stop() {
+        enabled = false;
+    }
+
+    synchronized void reset() {
+        shapes.clear();
+    }
+
+    /**
+     * Mencatat satu eksekusi statement
+     * @param sql Teks SQL persis seperti disiapkan
+     * @param params Nilai parameter (index 0 = parameter ke-1)
+     * @param elapsedNanos Lama eksekusi
+     */
+    synchronized void record(String sql, Object[] params, long elapsedNanos) {
+        String shape = normalize(sql);
+        Shape entry = shapes.computeIfAbsent(shape, key -> new Shape(key, sql, params));
+        entry.count++;
+        entry.totalNanos += elapsedNanos;
+    }
+
+    /**
+     * Salinan semua bentuk query sesuai urutan pertama kali terlihat
+     */
+    synchronized List<Shape> getShapes() {
+        return new ArrayList<>(shapes.values());
+    }
+
+    /**
+     * Merapikan spasi dan menyatukan daftar IN (?, ?, ...) agar query dengan jumlah id berbeda
+     * dianggap satu bentuk yang sama
+     */
+    static String normalize(String sql) {
+        return sql.trim()
+                  .replaceAll("\\s+", " ")
+                  .replaceAll("\\( ", "(")
+                  .replaceAll(" \\)", ")")
+                  .replaceAll("IN \\(\\?(, \\?)*\\)", "IN (?...)");
+    }
+
+    /**
+     * Satu bentuk query beserta statistiknya
+     */
+    static final class Shape {
+        final String shape;
+        // SQL dan parameter asli dari eksekusi pertama, dipakai ulang untuk EXPLAIN dan pengukuran
+        final String sampleSql;
+        final Object[] sampleParams;
+        long count;
+        long totalNanos;
+
+        private Shape(String shape, String sampleSql, Object[] sampleParams) {
+            this.shape = shape;
+            this.sampleSql = sampleSql;
+            this.sampleParams = sampleParams;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.Book;
+import com.bookshelf.model.ReadingStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Statistik membaca per user (jumlah per status, rating rata-rata, total halaman, genre teratas).
+ * Di MySQL dibaca dari counter user_book_stats dan user_genre_stats yang dijaga trigger saat buku
+ * ditulis, lalu dibaca ulang setelah perubahan buku (lewat BookChangeListener). Snapshot terakhir disimpan di field volatile
+ * sehingga membacanya tidak menyentuh database.
+ */
+public final class ReadingStatsService {
+
+    private static final ReadingStatsService INSTANCE = new ReadingStatsService();
+    static final int TOP_GENRES = 5;
+    // Satu thread daemon untuk membaca ulang statistik setelah perubahan buku
+    private static final ExecutorService REFRESHER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "bookshelf-reading-stats");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // userId -> tracker yang terpasang di repository milik user tersebut
+    private final Map<Integer, Tracker> trackers = new ConcurrentHashMap<>();
+
+    private ReadingStatsService() {
+    }
+
+    public static ReadingStatsService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Memasang tracker statistik pada repository user. Panggil refresh() pada tracker
+     * (sebaiknya di background) untuk menghitung snapshot pertama.
+     */
+    public Tracker attach(int userId, BookRepository repository) {
+        detach(userId);
+        Tracker tracker = new Tracker(userId, repository);
+        repository.addChangeListener(tracker);
+        trackers.put(userId, tracker);
+        return tracker;
+    }
+
+    /**
+     * Melepas tracker milik user (misal saat logout)
+     */
+    public void detach(int userId) {
+        Tracker tracker = trackers.remove(userId);
+        if (tracker != null) {
+            tracker.repository.removeChangeListener(tracker);
+        }
+    }
+
+    /**
+     * Snapshot statistik terakhir milik user, null jika belum pernah dihitung
+     */
+    public ReadingStats getSnapshot(int userId) {
+        Tracker tracker = trackers.get(userId);
+        return tracker != null ? tracker.getSnapshot() : null;
+    }
+
+    /**
+     * Statistik semua user yang sedang terpasang, untuk Help > System Info
+     */
+    public String getReport() {
+        if (trackers.isEmpty()) {
+            return "Statistik Membaca: belum ada user yang login";
+        }
+        StringBuilder report = new StringBuilder();
+        for (Tracker tracker : trackers.values()) {
+            ReadingStats stats = tracker.getSnapshot();
+            if (report.length() > 0) {
+                report.append("\n");
+            }
+            if (stats == null) {
+                report.append("Statistik Membaca (user #").append(tracker.userId).append("): sedang dihitung...\n");
+            } else {
+                report.append(stats.format());
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Menghitung statistik dari daftar buku dalam satu lintasan (untuk rak yang sudah ada di memori)
+     */
+    public static ReadingStats compute(int userId, Collection<Book> books) {
+        Tally tally = new Tally();
+        for (Book book : books) {
+            tally.add(book);
+        }
+        return tally.snapshot(userId);
+    }
+
+    /**
+     * Menyimpan snapshot statistik satu user. Snapshot dibaca dari agregat repository
+     * (counter user_book_stats dan user_genre_stats), bukan dari rak, sehingga memori tidak
+     * bergantung pada ukuran rak. Setiap perubahan buku menjadwalkan pembacaan ulang di thread
+     * statistik; perubahan beruntun digabung menjadi satu pembacaan.
+     */
+    public static final class Tracker implements BookChangeListener {
+        private final int userId;
+        private final BookRepository repository;
+        private volatile ReadingStats snapshot;
+        // true jika ada perubahan yang belum tercermin di snapshot
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        // true selama pembacaan ulang sudah antre atau sedang berjalan
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Tracker(int userId, BookRepository repository) {
+            this.userId = userId;
+            this.repository = repository;
+        }
+
+        public ReadingStats getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Membaca ulang statistik dari repository (dua lookup primary key di MySQL, tanpa agregasi rak)
+         */
+        public synchronized ReadingStats refresh() {
+            dirty.set(false);
+            snapshot = repository.getReadingStats();
+            return snapshot;
+        }
+
+        @Override
+        public void bookAdded(Book book) {
+            scheduleRefresh();
+        }
+
+        @Override
+        public void bookUpdated(Book book) {
+            scheduleRefresh();
+        }
+
+        @Override
+        public void bookRemoved(int bookId) {
+            scheduleRefresh();
+        }
+
+        @Override
+        public void shelfChanged() {
+            scheduleRefresh();
+        }
+
+        // Listener bisa dipanggil dari EDT, jadi query dijalankan di thread statistik
+        private void scheduleRefresh() {
+            dirty.set(true);
+            if (scheduled.compareAndSet(false, true)) {
+                REFRESHER.execute(this::refreshWhileDirty);
+            }
+        }
+
+        private void refreshWhileDirty() {
+            try {
+                while (dirty.get()) {
+                    refresh();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Gagal memperbarui statistik membaca: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                scheduled.set(false);
+            }
+            // Perubahan yang datang tepat setelah loop selesai
+            if (dirty.get() && scheduled.compareAndSet(false, true)) {
+                REFRESHER.execute(this::refreshWhileDirty);
+            }
+        }
+    }
+
+    /**
+     * Agregat satu lintasan atas daftar buku
+     */
+    private static final class Tally {
+        private final Map<String, Integer> byStatus = new HashMap<>();
+        private final Map<String, Integer> byGenre = new HashMap<>();
+        private int total;
+        private int rated;
+        // Rating dijumlahkan dalam satuan 0.1 agar tidak menumpuk galat pembulatan
+        private long ratingTenths;
+        private long pages;
+
+        void add(Book book) {
+            total++;
+            if (book.getStatus() != null) {
+                byStatus.merge(book.getStatus(), 1, Integer::sum);
+            }
+            if (book.getGenre() != null && !book.getGenre().trim().isEmpty()) {
+                byGenre.merge(book.getGenre(), 1, Integer::sum);
+            }
+            long tenths = Math.round(book.getRating() * 10);
+            if (tenths > 0) {
+                rated++;
+                ratingTenths += tenths;
+            }
+            pages += book.getPages();
+        }
+
+        ReadingStats snapshot(int userId) {
+            List<Map.Entry<String, Integer>> genres = new ArrayList<>(byGenre.entrySet());
+            genres.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> topGenres = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> genre : genres.subList(0, Math.min(TOP_GENRES, genres.size()))) {
+                topGenres.put(genre.getKey(), genre.getValue());
+            }
+            double averageRating = rated > 0 ? ratingTenths / 10.0 / rated : 0.0;
+            return new ReadingStats(userId, total, byStatus, averageRating, pages, topGenres);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.bookshelf.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Menjalankan migrasi skema secara berurutan dan mencatatnya di tabel schema_migrations.
+ * Migrasi yang sudah dijalankan diverifikasi checksum-nya; mengedit migrasi lama dianggap error,
+ * perubahan skema baru harus ditambahkan sebagai versi berikutnya di MIGRATIONS.
+ */
+class SchemaMigrator {
+
+    private static final String LOCK_NAME = "bookshelf_schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 30;
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    // ===== Daftar migrasi (urut versi, jangan mengubah migrasi yang sudah dirilis) =====
+    private static final List<Migration> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+        Migration.version(1, "Create books table")
+            .sql("""
+                CREATE TABLE IF NOT EXISTS books (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    title VARCHAR(255) NOT NULL,
+                    author VARCHAR(255) NOT NULL,
+                    isbn VARCHAR(20) UNIQUE,
+                    genre VARCHAR(100),
+                    publication_year INT,
+                    pages INT,
+                    description TEXT,
+                    rating DECIMAL(2,1) DEFAULT 0.0,
+                    status ENUM('Want to Read', 'Reading', 'Read') DEFAULT 'Want to Read',
+                    date_added TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    date_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                    INDEX idx_title (title),
+                    INDEX idx_author (author),
+                    INDEX idx_genre (genre),
+                    INDEX idx_status (status),
+                    INDEX idx_rating (rating)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """)
+            .build(),
+        Migration.version(2, "Create users table with unique username")
+            .sql("""
+                CREATE TABLE IF NOT EXISTS users (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    username VARCHAR(50) NOT NULL,
+                    password VARCHAR(255) NOT NULL,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    UNIQUE INDEX uk_users_username (username)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """)
+            // Tabel users lama (dibuat manual) mungkin belum punya index unik
+            .addIndex("users", "uk_users_username", "UNIQUE INDEX uk_users_username (username)")
+            .build(),
+        Migration.version(3, "Add books.user_id with per-user index")
+            .addColumn("books", "user_id", "INT NULL")
+            // Rak per user diurutkan berdasarkan date_added: index ini melayani WHERE + ORDER BY sekaligus
+            .addIndex("books", "idx_books_user_date", "INDEX idx_books_user_date (user_id, date_added)")
+            .build(),
+        Migration.version(4, "Add FULLTEXT index on title, author, description")
+            .addIndex("books", "ft_books_text", "FULLTEXT INDEX ft_books_text (title, author, description)")
+            .build(),
+        Migration.version(5, "Drop legacy schema_version marker")
+            .sql("DROP TABLE IF EXISTS schema_version")
+            .build(),
+        // Index komposit untuk query rak per user yang diurutkan judul (pencarian, halaman keyset)
+        // dan rating (halaman keyset). Index lain baru ditambahkan setelah EXPLAIN dari IndexAdvisor
+        // di server sungguhan menunjukkan filesort/full scan, karena setiap index memperlambat INSERT.
+        Migration.version(6, "Add composite indexes for per-user title and rating order")
+            .addIndex("books", "idx_books_user_title", "INDEX idx_books_user_title (user_id, title)")
+            .addIndex("books", "idx_books_user_rating", "INDEX idx_books_user_rating (user_id, rating)")
+            .build(),
+        // Counter per user yang dijaga trigger di transaksi yang sama dengan perubahan books,
+        // sehingga hitungan cukup dibaca lewat primary key tanpa COUNT(*) atas books.
+        // Buku lama tanpa pemilik (user_id NULL) dicatat di baris user_id = 0.
+        Migration.version(7, "Add user_book_stats counters maintained by triggers")
+            .sql("""
+                CREATE TABLE IF NOT EXISTS user_book_stats (
+                    user_id INT NOT NULL PRIMARY KEY,
+                    total INT NOT NULL DEFAULT 0,
+                    want_to_read INT NOT NULL DEFAULT 0,
+                    reading INT NOT NULL DEFAULT 0,
+                    read_count INT NOT NULL DEFAULT 0,
+                    rated INT NOT NULL DEFAULT 0,
+                    rating_sum DECIMAL(12,1) NOT NULL DEFAULT 0,
+                    total_pages BIGINT NOT NULL DEFAULT 0
+                ) ENGINE=InnoDB
+            """)
+            .addTrigger("books", "trg_books_stats_insert", """
+                CREATE TRIGGER trg_books_stats_insert AFTER INSERT ON books FOR EACH ROW
+                INSERT INTO user_book_stats
+                    (user_id, total, want_to_read, reading, read_count, rated, rating_sum, total_pages)
+                VALUES (COALESCE(NEW.user_id, 0), 1,
+                        NEW.status <=> 'Want to Read', NEW.status <=> 'Reading', NEW.status <=> 'Read',
+                        COALESCE(NEW.rating, 0) > 0, COALESCE(NEW.rating, 0), COALESCE(NEW.pages, 0))
+                ON DUPLICATE KEY UPDATE
+                    total = total + 1,
+                    want_to_read = want_to_read + VALUES(want_to_read),
+                    reading = reading + VALUES(reading),
+                    read_count = read_count + VALUES(read_count),
+                    rated = rated + VALUES(rated),
+                    rating_sum = rating_sum + VALUES(rating_sum),
+                    total_pages = total_pages + VALUES(total_pages)
+            """)
+            .addTrigger("books", "trg_books_stats_delete", """
+                CREATE TRIGGER trg_books_stats_delete AFTER DELETE ON books FOR EACH ROW
+                UPDATE user_book_stats SET
+                    total = total - 1,
+                    want_to_read = want_to_read - (OLD.status <=> 'Want to Read'),
+                    reading = reading - (OLD.status <=> 'Reading'),
+                    read_count = read_count - (OLD.status <=> 'Read'),
+                    rated = rated - (COALESCE(OLD.rating, 0) > 0),
+                    rating_sum = rating_sum - COALESCE(OLD.rating, 0),
+                    total_pages = total_pages - COALESCE(OLD.pages, 0)
+                WHERE user_id = COALESCE(OLD.user_id, 0)
+            """)
+            // Update = kurangi nilai lama lalu tambah nilai baru (pemilik buku juga bisa berpindah)
+            .addTrigger("books", "trg_books_stats_update", """
+                CREATE TRIGGER trg_books_stats_update AFTER UPDATE ON books FOR EACH ROW
+                BEGIN
+                    UPDATE user_book_stats SET
+                        total = total - 1,
+                        want_to_read = want_to_read - (OLD.status <=> 'Want to Read'),
+                        reading = reading - (OLD.status <=> 'Reading'),
+                        read_count = read_count - (OLD.status <=> 'Read'),
+                        rated = rated - (COALESCE(OLD.rating, 0) > 0),
+                        rating_sum = rating_sum - COALESCE(OLD.rating, 0),
+                        total_pages = total_pages - COALESCE(OLD.pages, 0)
+                    WHERE user_id = COALESCE(OLD.user_id, 0);
+                    INSERT INTO user_book_stats
+                        (user_id, total, want_to_read, reading, read_count, rated, rating_sum, total_pages)
+                    VALUES (COALESCE(NEW.user_id, 0), 1,
+                            NEW.status <=> 'Want to Read', NEW.status <=> 'Reading', NEW.status <=> 'Read',
+                            COALESCE(NEW.rating, 0) > 0, COALESCE(NEW.rating, 0), COALESCE(NEW.pages, 0))
+                    ON DUPLICATE KEY UPDATE
+                        total = total + 1,
+                        want_to_read = want_to_read + VALUES(want_to_read),
+                        reading = reading + VALUES(reading),
+                        read_count = read_count + VALUES(read_count),
+                        rated = rated + VALUES(rated),
+                        rating_sum = rating_sum + VALUES(rating_sum),
+                        total_pages = total_pages + VALUES(total_pages);
+                END
+            """)
+            // Isi awal dihitung ulang dari books setelah trigger aktif (menimpa, jadi aman dijalankan ulang)
+            .sql("""
+                INSERT INTO user_book_stats
+                    (user_id, total, want_to_read, reading, read_count, rated, rating_sum, total_pages)
+                SELECT COALESCE(user_id, 0), COUNT(*),
+                       SUM(status <=> 'Want to Read'), SUM(status <=> 'Reading'), SUM(status <=> 'Read'),
+                       SUM(COALESCE(rating, 0) > 0), SUM(COALESCE(rating, 0)), SUM(COALESCE(pages, 0))
+                FROM books
+                GROUP BY COALESCE(user_id, 0)
+                ON DUPLICATE KEY UPDATE
+                    total = VALUES(total),
+                    want_to_read = VALUES(want_to_read),
+                    reading = VALUES(reading),
+                    read_count = VALUES(read_count),
+                    rated = VALUES(rated),
+                    rating_sum = VALUES(rating_sum),
+                    total_pages = VALUES(total_pages)
+            """)
+            .build(),
+        // Sinkronisasi delta: buku yang berubah dicari lewat (user_id, date_updated),
+        // buku yang dihapus (atau pindah pemilik) dicatat sebagai tombstone di book_deletions
+        Migration.version(8, "Add delta sync index and book deletion log")
+            .addIndex("books", "idx_books_user_updated", "INDEX idx_books_user_updated (user_id, date_updated)")
+            .sql("""
+                CREATE TABLE IF NOT EXISTS book_deletions (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    book_id INT NOT NULL,
+                    user_id INT NOT NULL,
+                    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    INDEX idx_book_deletions_user_time (user_id, deleted_at)
+                ) ENGINE=InnoDB
+            """)
+            .addTrigger("books", "trg_books_log_delete", """
+                CREATE TRIGGER trg_books_log_delete AFTER DELETE ON books FOR EACH ROW
+                INSERT INTO book_deletions (book_id, user_id) VALUES (OLD.id, COALESCE(OLD.user_id, 0))
+            """)
+            .addTrigger("books", "trg_books_log_owner_change", """
+                CREATE TRIGGER trg_books_log_owner_change AFTER UPDATE ON books FOR EACH ROW
+                BEGIN
+                    IF NOT (OLD.user_id <=> NEW.user_id) THEN
+                        INSERT INTO book_deletions (book_id, user_id) VALUES (OLD.id, COALESCE(OLD.user_id, 0));
+                    END IF;
+                END
+            """)
+            .build(),
+        // Index komposit usulan IndexAdvisor untuk query rak per user yang difilter lalu diurutkan:
+        // status/genre + ORDER BY title, filter genre + status + rating >= ? (rating untuk index
+        // condition pushdown), dan top rated (rating > 0 ORDER BY rating DESC, title)
+        Migration.version(9, "Add per-user composite indexes for filter and top-rated queries")
+            .addIndex("books", "idx_books_user_status_title",
+                      "INDEX idx_books_user_status_title (user_id, status, title)")
+            .addIndex("books", "idx_books_user_genre_title",
+                      "INDEX idx_books_user_genre_title (user_id, genre, title)")
+            .addIndex("books", "idx_books_user_genre_status_title",
+                      "INDEX idx_books_user_genre_status_title (user_id, genre, status, title, rating)")
+            .addIndex("books", "idx_books_user_rating_title",
+                      "INDEX idx_books_user_rating_title (user_id, rating DESC, title)")
+            .build(),
+        // Jumlah buku per genre per user, dijaga trigger seperti user_book_stats (V7), sehingga
+        // genre teratas dibaca lewat primary key tanpa GROUP BY genre atas seluruh rak.
+        // Collation sama dengan books.genre agar pengelompokan genre tidak berubah.
+        Migration.version(10, "Add user_genre_stats counters maintained by triggers")
+            .sql("""
+                CREATE TABLE IF NOT EXISTS user_genre_stats (
+                    user_id INT NOT NULL,
+                    genre VARCHAR(100) NOT NULL,
+                    book_count INT NOT NULL DEFAULT 0,
+                    PRIMARY KEY (user_id, genre)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """)
+            .addTrigger("books", "trg_books_genre_insert", """
+                CREATE TRIGGER trg_books_genre_insert AFTER INSERT ON books FOR EACH ROW
+                BEGIN
+                    IF NEW.genre IS NOT NULL AND NEW.genre != '' THEN
+                        INSERT INTO user_genre_stats (user_id, genre, book_count)
+                        VALUES (COALESCE(NEW.user_id, 0), NEW.genre, 1)
+                        ON DUPLICATE KEY UPDATE book_count = book_count + 1;
+                    END IF;
+                END
+            """)
+            .addTrigger("books", "trg_books_genre_delete", """
+                CREATE TRIGGER trg_books_genre_delete AFTER DELETE ON books FOR EACH ROW
+                BEGIN
+                    IF OLD.genre IS NOT NULL AND OLD.genre != '' THEN
+                        UPDATE user_genre_stats SET book_count = book_count - 1
+                        WHERE user_id = COALESCE(OLD.user_id, 0) AND genre = OLD.genre;
+                    END IF;
+                END
+            """)
+            // Hanya jika genre atau pemilik berubah: kurangi baris lama lalu tambah baris baru
+            .addTrigger("books", "trg_books_genre_update", """
+                CREATE TRIGGER trg_books_genre_update AFTER UPDATE ON books FOR EACH ROW
+                BEGIN
+                    IF NOT (OLD.genre <=> NEW.genre) OR NOT (OLD.user_id <=> NEW.user_id) THEN
+                        IF OLD.genre IS NOT NULL AND OLD.genre != '' THEN
+                            UPDATE user_genre_stats SET book_count = book_count - 1
+                            WHERE user_id = COALESCE(OLD.user_id, 0) AND genre = OLD.genre;
+                        END IF;
+                        IF NEW.genre IS NOT NULL AND NEW.genre != '' THEN
+                            INSERT INTO user_genre_stats (user_id, genre, book_count)
+                            VALUES (COALESCE(NEW.user_id, 0), NEW.genre, 1)
+                            ON DUPLICATE KEY UPDATE book_count = book_count + 1;
+                        END IF;
+                    END IF;
+                END
+            """)
+            // Isi awal dihitung ulang dari books setelah trigger aktif (menimpa, jadi aman dijalankan ulang)
+            .sql("""
+                INSERT INTO user_genre_stats (user_id, genre, book_count)
+                SELECT COALESCE(user_id, 0), genre, COUNT(*)
+                FROM books
+                WHERE genre IS NOT NULL AND genre != ''
+                GROUP BY COALESCE(user_id, 0), genre
+                ON DUPLICATE KEY UPDATE book_count = VALUES(book_count)
+            """)
+            .build()
+    ));
+
+    static {
+        for (int i = 1; i < MIGRATIONS.size(); i++) {
+            if (MIGRATIONS.get(i).getVersion() <= MIGRATIONS.get(i - 1).getVersion()) {
+                throw new IllegalStateException("Versi migrasi harus urut naik: V" + MIGRATIONS.get(i).getVersion());
+            }
+        }
+    }
+
+    /**
+     * Versi skema terbaru yang dikenal aplikasi
+     */
+    static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * Memastikan skema sudah versi terbaru. Jika sudah, hanya satu query yang dijalankan.
+     * @return Jumlah migrasi yang baru diterapkan
+     * @throws SQLException jika migrasi gagal atau checksum migrasi lama tidak cocok
+     */
+    int migrate(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = readApplied(connection);
+        verifyChecksums(applied);
+        if (pendingCount(applied) == 0) {
+            return 0;
+        }
+
+        // Kunci agar dua instance aplikasi tidak menjalankan migrasi yang sama bersamaan
+        acquireLock(connection);
+        try {
+            createMigrationsTable(connection);
+            applied = readApplied(connection);
+            verifyChecksums(applied);
+
+            int count = 0;
+            for (Migration migration : MIGRATIONS) {
+                if (applied.containsKey(migration.getVersion())) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    migration.apply(connection);
+                } catch (SQLException e) {
+                    throw new SQLException("Migrasi V" + migration.getVersion() + " (" + migration.getDescription()
+                            + ") gagal: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+                }
+                recordApplied(connection, migration, (System.nanoTime() - start) / 1_000_000);
+                System.out.println("Migrasi V" + migration.getVersion() + " diterapkan: " + migration.getDescription());
+                count++;
+            }
+            return count;
+        } finally {
+            releaseLock(connection);
+        }
+    }
+
+    /**
+     * Membaca versi dan checksum migrasi yang sudah diterapkan (kosong jika tabel belum ada)
+     */
+    private Map<Integer, Long> readApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new TreeMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_NO_SUCH_TABLE) {
+                throw e;
+            }
+        }
+        return applied;
+    }
+
+    private void verifyChecksums(Map<Integer, Long> applied) throws SQLException {
+        for (Migration migration : MIGRATIONS) {
+            Long checksum = applied.get(migration.getVersion());
+            if (checksum != null && checksum != migration.getChecksum()) {
+                throw new SQLException("Checksum migrasi V" + migration.getVersion() + " tidak cocok dengan database"
+                        + " (migrasi yang sudah diterapkan tidak boleh diubah)");
+            }
+        }
+        for (int version : applied.keySet()) {
+            if (version > latestVersion()) {
+                System.err.println("Peringatan: database memiliki migrasi V" + version
+                        + " yang lebih baru dari aplikasi (terbaru V" + latestVersion() + ")");
+            }
+        }
+    }
+
+    private int pendingCount(Map<Integer, Long> applied) {
+        int pending = 0;
+        for (Migration migration : MIGRATIONS) {
+            if (!applied.containsKey(migration.getVersion())) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    private void createMigrationsTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_migrations (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(200) NOT NULL,
+                    checksum BIGINT NOT NULL,
+                    installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    execution_ms INT NOT NULL
+                ) ENGINE=InnoDB
+            """);
+        }
+    }
+
+    private void recordApplied(Connection connection, Migration migration, long executionMillis) throws SQLException {
+        String sql = "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.getVersion());
+            pstmt.setString(2, migration.getDescription());
+            pstmt.setLong(3, migration.getChecksum());
+            pstmt.setLong(4, executionMillis);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Gagal mendapatkan lock migrasi skema dalam " + LOCK_TIMEOUT_SECONDS + " detik");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Gagal melepas lock migrasi: " + e.getMessage());
+        }
+    }
+}
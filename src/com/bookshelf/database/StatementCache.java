@@ -0,0 +1,264 @@
+package com.bookshelf.database;
+
+import com.bookshelf.metrics.MetricsRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache PreparedStatement per koneksi fisik, dengan kunci teks SQL dan eviction LRU.
+ * Statement yang dikembalikan adalah proxy: close() hanya mengembalikannya ke cache
+ * sehingga statement (server-side prepare) bisa dipakai ulang oleh pemanggilan DAO berikutnya.
+ */
+class StatementCache {
+
+    /**
+     * Counter hit/miss yang dibagi oleh semua cache dalam satu pool
+     */
+    static class Stats {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+
+        double getHitRate() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0.0 : (double) hits.get() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statement cache: hit %d, miss %d (hit rate %.1f%%), evicted %d",
+                    hits.get(), misses.get(), getHitRate() * 100, evictions.get());
+        }
+    }
+
+    private final Connection physical;
+    private final Stats stats;
+    private final LinkedHashMap<String, CachedStatement> cache;
+
+    StatementCache(Connection physical, int maxSize, Stats stats) {
+        this.physical = physical;
+        this.stats = stats;
+        // accessOrder = true: entri yang paling lama tidak dipakai berada di depan
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                stats.evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Mengambil statement dari cache atau menyiapkan yang baru
+     * @param sql Teks SQL (kunci cache)
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS atau Statement.NO_GENERATED_KEYS
+     * @return Proxy PreparedStatement yang close()-nya mengembalikan statement ke cache
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "[keys] " + sql : sql;
+        CachedStatement cached = cache.get(key);
+        if (cached != null && !cached.inUse) {
+            stats.hits.incrementAndGet();
+        } else {
+            stats.misses.incrementAndGet();
+            PreparedStatement stmt = physical.prepareStatement(sql, autoGeneratedKeys);
+            if (cached != null) {
+                // SQL yang sama sedang dipakai (misal query bersarang): pakai statement sekali pakai
+                CachedStatement uncached = new CachedStatement(sql, stmt);
+                uncached.evicted = true;
+                cached = uncached;
+            } else {
+                cached = new CachedStatement(sql, stmt);
+                cache.put(key, cached);
+            }
+        }
+        cached.inUse = true;
+        return cached.newHandle();
+    }
+
+    /**
+     * Menutup semua statement di cache (dipanggil saat koneksi fisik dibuang)
+     */
+    synchronized void clear() {
+        for (Iterator<CachedStatement> it = cache.values().iterator(); it.hasNext();) {
+            it.next().evict();
+            it.remove();
+        }
+    }
+
+    synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Satu PreparedStatement fisik yang tersimpan di cache
+     */
+    private class CachedStatement {
+        final String sql;
+        // Nama operasi di MetricsRegistry: bentuk query dengan spasi dirapikan
+        final String metricName;
+        final PreparedStatement statement;
+        boolean inUse = false;
+        boolean evicted = false;
+        // ResultSet yang dibuka lewat statement ini dan belum tentu ditutup oleh pemanggil
+        final List<ResultSet> openResults = new ArrayList<>();
+
+        CachedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.metricName = "sql " + QueryRecorder.normalize(sql);
+            this.statement = statement;
+        }
+
+        PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(this));
+        }
+
+        /**
+         * Dipanggil saat pemanggil menutup statement: tutup ResultSet yang tersisa,
+         * bersihkan parameter, lalu tandai siap dipakai lagi
+         */
+        void release() {
+            synchronized (StatementCache.this) {
+                try {
+                    for (ResultSet rs : openResults) {
+                        rs.close();
+                    }
+                    openResults.clear();
+                    if (evicted) {
+                        statement.close();
+                    } else {
+                        statement.clearParameters();
+                    }
+                } catch (SQLException e) {
+                    // Statement rusak: keluarkan dari cache agar disiapkan ulang
+                    cache.values().remove(this);
+                    closeQuietly();
+                } finally {
+                    inUse = false;
+                }
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Statement memang akan dibuang, abaikan
+            }
+        }
+    }
+
+    /**
+     * InvocationHandler untuk proxy statement yang sedang dipinjam
+     */
+    private class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean closed = false;
+        // Parameter yang di-set, hanya diisi saat QueryRecorder aktif
+        private Object[] params;
+
+        Handle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cached.release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement sudah ditutup");
+                    }
+                    QueryRecorder recorder = QueryRecorder.getInstance();
+                    if (recorder.isEnabled()) {
+                        rememberParameter(method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        Object result = method.invoke(cached.statement, args);
+                        if (result instanceof ResultSet) {
+                            cached.openResults.add((ResultSet) result);
+                        }
+                        if (isExecute(method, args)) {
+                            long elapsed = System.nanoTime() - start;
+                            // executeUpdate mengembalikan jumlah baris yang berubah; baris hasil query tidak dihitung
+                            long rows = result instanceof Integer ? (Integer) result : 0;
+                            MetricsRegistry.getInstance().record(cached.metricName, elapsed, rows, false, cached.sql);
+                            if (recorder.isEnabled()) {
+                                recorder.record(cached.sql, params != null ? params.clone() : new Object[0], elapsed);
+                            }
+                        }
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        if (isExecute(method, args)) {
+                            MetricsRegistry.getInstance().record(cached.metricName, System.nanoTime() - start, 0, true,
+                                    cached.sql + " -> " + e.getCause().getMessage());
+                        }
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        /**
+         * Menyimpan nilai dari setString/setInt/setObject/... untuk direkam bersama query
+         */
+        private void rememberParameter(Method method, Object[] args) {
+            if (method.getName().equals("clearParameters")) {
+                params = null;
+            } else if (method.getName().startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                int index = (Integer) args[0];
+                if (params == null || params.length < index) {
+                    params = Arrays.copyOf(params != null ? params : new Object[0], Math.max(index, 8));
+                }
+                params[index - 1] = method.getName().equals("setNull") ? null : args[1];
+            }
+        }
+
+        private boolean isExecute(Method method, Object[] args) {
+            return (args == null || args.length == 0) && method.getName().startsWith("execute")
+                    && !method.getName().equals("executeBatch");
+        }
+    }
+}
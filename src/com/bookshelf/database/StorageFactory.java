@@ -0,0 +1,114 @@
+package com.bookshelf.database;
+
+import com.bookshelf.metrics.MetricsRegistry;
+import com.bookshelf.metrics.StartupTimer;
+import com.bookshelf.model.BookPage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Memilih backend penyimpanan berdasarkan system property "bookshelf.storage":
+ * "mysql" (default, butuh server) atau "embedded" (file lokal via EmbeddedStore).
+ */
+public final class StorageFactory {
+
+    public static final String STORAGE_PROPERTY = "bookshelf.storage";
+    public static final String STORAGE_MYSQL = "mysql";
+    public static final String STORAGE_EMBEDDED = "embedded";
+
+    private StorageFactory() {
+    }
+
+    /**
+     * UTILITY - Cek apakah aplikasi memakai penyimpanan embedded
+     */
+    public static boolean isEmbedded() {
+        return STORAGE_EMBEDDED.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY, STORAGE_MYSQL).trim());
+    }
+
+    /**
+     * READ - Repository user sesuai backend yang aktif
+     */
+    public static UserRepository userRepository() {
+        return instrument(isEmbedded() ? new EmbeddedUserRepository(embeddedStore()) : new UserDAO());
+    }
+
+    /**
+     * Menyiapkan backend di background (koneksi + cek skema, atau membuka file embedded).
+     * @return Future berisi repository user; gagal jika penyimpanan tidak bisa dibuka
+     */
+    public static CompletableFuture<UserRepository> openAsync(Executor executor) {
+        if (isEmbedded()) {
+            return CompletableFuture.supplyAsync(() -> {
+                StartupTimer.Phase openStore = StartupTimer.getInstance().begin("embedded: open store");
+                try {
+                    return userRepository();
+                } finally {
+                    openStore.close();
+                }
+            }, executor);
+        }
+        return DatabaseManager.initializeAsync(executor).thenApply(ready -> {
+            if (!ready) {
+                throw new IllegalStateException("Gagal terhubung ke database");
+            }
+            return instrument(new UserDAO());
+        });
+    }
+
+    /**
+     * READ - Repository buku milik user sesuai backend yang aktif
+     */
+    public static BookRepository bookRepository(int userId) {
+        BookRepository repository = isEmbedded()
+                ? new EmbeddedBookRepository(embeddedStore(), userId) : new BookDAO(userId);
+        return MetricsRegistry.getInstance().instrument(BookRepository.class, repository, "BookRepository",
+                result -> result instanceof BookPage
+                        ? ((BookPage) result).getBooks().size() : MetricsRegistry.countRows(result));
+    }
+
+    /**
+     * UTILITY - Informasi backend untuk dialog System Info
+     */
+    public static String getInfo() {
+        return isEmbedded() ? embeddedStore().getInfo() : DatabaseManager.getInstance().getDatabaseInfo();
+    }
+
+    /**
+     * UTILITY - Statistik backend untuk dialog System Info (hanya counter di memori, tanpa query database;
+     * statistik buku diambil dari snapshot ReadingStatsService)
+     */
+    public static String getStats() {
+        return isEmbedded() ? embeddedStore().getStats() : DatabaseManager.getInstance().getRuntimeStats();
+    }
+
+    /**
+     * UTILITY - Menutup backend saat aplikasi berhenti
+     */
+    public static void shutdown() {
+        if (isEmbedded()) {
+            EmbeddedStore store = EmbeddedStore.getOpenInstance();
+            if (store != null) {
+                store.close();
+            }
+        } else {
+            DatabaseManager.getInstance().closeConnection();
+        }
+    }
+
+    // Setiap method repository diukur (latency, baris, error) oleh MetricsRegistry
+    private static UserRepository instrument(UserRepository repository) {
+        return MetricsRegistry.getInstance().instrument(UserRepository.class, repository, "UserRepository",
+                MetricsRegistry::countRows);
+    }
+
+    private static EmbeddedStore embeddedStore() {
+        try {
+            return EmbeddedStore.getInstance();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuka penyimpanan embedded", e);
+        }
+    }
+}
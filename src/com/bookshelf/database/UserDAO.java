@@ -2,52 +2,93 @@ package com.bookshelf.database;
 
 // Import library SQL untuk koneksi dan query
 import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Import class User dari package model
 import com.bookshelf.model.User;
 
-// Kelas UserDAO digunakan untuk mengelola data user di database
-public class UserDAO {
+// Kelas UserDAO digunakan untuk mengelola data user di database MySQL
+public class UserDAO implements UserRepository {
 
-    // Properti untuk menyimpan koneksi database
-    private Connection conn;
+    // Objek untuk mengelola koneksi database (koneksi dipinjam dari pool per operasi)
+    private DatabaseManager dbManager;
 
-    // Konstruktor: dijalankan saat objek UserDAO dibuat, menerima objek koneksi
-    public UserDAO(Connection conn) {
-        this.conn = conn;
+    // Cache username -> user_id selama aplikasi berjalan (dibagi semua instance UserDAO).
+    // Aman di-cache karena username unik dan user tidak pernah diganti nama atau dihapus.
+    private static final Map<String, Integer> USER_IDS = new ConcurrentHashMap<>();
+
+    // Konstruktor: dijalankan saat objek UserDAO dibuat
+    public UserDAO() {
+        this.dbManager = DatabaseManager.getInstance();
     }
 
     // Method untuk registrasi user baru ke database
     public boolean register(User user) throws SQLException {
         // Query SQL untuk menyimpan username dan password ke tabel users
         String query = "INSERT INTO users (username, password) VALUES (?, ?)";
-        PreparedStatement stmt = conn.prepareStatement(query);
-        stmt.setString(1, user.getUsername());
-        stmt.setString(2, user.getPassword()); // Catatan: sebaiknya password di-hash
-        return stmt.executeUpdate() > 0; // Berhasil jika ada baris yang dimasukkan
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, user.getUsername());
+            stmt.setString(2, user.getPassword()); // Catatan: sebaiknya password di-hash
+            if (stmt.executeUpdate() == 0) {
+                return false; // Gagal jika tidak ada baris yang dimasukkan
+            }
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setId(keys.getInt(1));
+                    USER_IDS.put(user.getUsername(), user.getId());
+                }
+            }
+            return true;
+        }
+    }
+
+    // Method untuk autentikasi: cek username dan password sekaligus ambil profil user dalam satu query.
+    // Lookup memakai index unik uk_users_username, jadi tetap cepat walaupun tabel users besar.
+    public User authenticate(String username, String password) throws SQLException {
+        String query = "SELECT id, username, created_at FROM users WHERE username = ? AND password = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, username);
+            stmt.setString(2, password);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null; // Username atau password salah
+                }
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                User user = new User(rs.getInt("id"), rs.getString("username"),
+                        createdAt != null ? createdAt.toLocalDateTime() : null);
+                USER_IDS.put(username, user.getId());
+                return user;
+            }
+        }
     }
 
     // Method untuk login: cek apakah username dan password cocok di database
     public boolean login(String username, String password) throws SQLException {
-        String query = "SELECT * FROM users WHERE username = ? AND password = ?";
-        PreparedStatement stmt = conn.prepareStatement(query);
-        stmt.setString(1, username);
-        stmt.setString(2, password);
-        ResultSet rs = stmt.executeQuery();
-        return rs.next(); // Login berhasil jika ada data yang cocok
+        return authenticate(username, password) != null; // Login berhasil jika ada data yang cocok
     }
 
-    // mendapatkan user_id berdasarkan username
+    // mendapatkan user_id berdasarkan username (dari cache jika user sudah pernah login/dicari)
     public int getUserIdByUsername(String username) throws SQLException {
+        Integer cached = USER_IDS.get(username);
+        if (cached != null) {
+            return cached;
+        }
         String query = "SELECT id FROM users WHERE username = ?";
-        PreparedStatement stmt = conn.prepareStatement(query);
-        stmt.setString(1, username);
-        ResultSet rs = stmt.executeQuery();
-    
-        if (rs.next()) {
-            return rs.getInt("id"); // Mengembalikan user_id
-        } else {
-            throw new SQLException("User not found");
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, username);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    int id = rs.getInt("id");
+                    USER_IDS.put(username, id);
+                    return id; // Mengembalikan user_id
+                } else {
+                    throw new SQLException("User not found");
+                }
+            }
         }
     }
     
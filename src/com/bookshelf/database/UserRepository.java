@@ -0,0 +1,26 @@
+package com.bookshelf.database;
+
+import com.bookshelf.model.User;
+import java.sql.SQLException;
+
+/**
+ * Akses data user, terlepas dari media penyimpanannya.
+ * Implementasi: UserDAO (MySQL) dan EmbeddedUserRepository (file lokal).
+ */
+public interface UserRepository {
+
+    // Registrasi user baru; false jika gagal. ID user diisi jika berhasil
+    boolean register(User user) throws SQLException;
+
+    /**
+     * Mencocokkan username dan password sekaligus mengambil profil user (satu lookup)
+     * @return Profil user (ID, username, waktu daftar), atau null jika tidak cocok
+     */
+    User authenticate(String username, String password) throws SQLException;
+
+    // Login berhasil jika username dan password cocok
+    boolean login(String username, String password) throws SQLException;
+
+    // Mendapatkan user_id berdasarkan username
+    int getUserIdByUsername(String username) throws SQLException;
+}
@@ -1,9 +1,10 @@
 package com.bookshelf.gui;
 
-import com.bookshelf.database.BookDAO;
+import com.bookshelf.database.AsyncBookDAO;
 import com.bookshelf.model.Book;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
 
 // Kelas AddBookDialog adalah dialog (jendela pop-up) untuk menambah buku baru
@@ -18,7 +19,8 @@ public class AddBookDialog extends JDialog {
     private int userId;
 
 
-    public AddBookDialog(JFrame parent, BookDAO bookDAO, BookTableModel tableModel, int userId) {
+    public AddBookDialog(JFrame parent, AsyncBookDAO asyncDAO, AsyncTaskRunner taskRunner,
+                         BookTableModel tableModel, int userId) {
         super(parent, "Add New Book", true);
         setLayout(new BorderLayout());
         setSize(400, 500);
@@ -88,18 +90,23 @@ public class AddBookDialog extends JDialog {
                 book.setStatus((String) cbStatus.getSelectedItem());
                 book.setRating((Double) spRating.getValue());
         
-                if (bookDAO.addBook(book)) {
-                    JOptionPane.showMessageDialog(this, "Book added successfully!");
-                    succeeded = true;
-        
-                    // Memperbarui data buku berdasarkan userId setelah menambah buku
-                    tableModel.setBooks(bookDAO.getBooksByUserId(userId));
-                    tableModel.fireTableDataChanged(); // Menyegarkan tampilan JTable
-        
-                    dispose();  // Menutup dialog setelah menambah buku
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to add book.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                // INSERT dijalankan di thread database; Save dinonaktifkan agar tidak tersimpan dua kali
+                btnSave.setEnabled(false);
+                CompletableFuture<Boolean> saved = asyncDAO.addBook(book);
+                saved.whenComplete((added, error) -> SwingUtilities.invokeLater(() -> btnSave.setEnabled(true)));
+                taskRunner.run(saved, added -> {
+                    if (added) {
+                        JOptionPane.showMessageDialog(this, "Book added successfully!");
+                        succeeded = true;
+
+                        // Hanya baris buku baru yang ditambahkan, seleksi dan scroll tetap
+                        tableModel.upsert(book);
+
+                        dispose();  // Menutup dialog setelah menambah buku
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to add book.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
         btnCancel.addActionListener(e -> dispose());
@@ -0,0 +1,98 @@
+package com.bookshelf.gui;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import javax.swing.JOptionPane;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+
+/**
+ * Menghubungkan future dari AsyncBookDAO dengan GUI Swing:
+ * menampilkan indikator loading, membatalkan permintaan lama yang sudah digantikan,
+ * dan mengirim hasil kembali ke Event Dispatch Thread.
+ */
+public class AsyncTaskRunner {
+    private final Component owner;
+    private final JProgressBar progressBar;
+    // Permintaan terakhir per kunci (misal "books"); permintaan lama dengan kunci sama dibatalkan
+    private final Map<String, CompletableFuture<?>> latest = new HashMap<>();
+    private int running = 0;
+
+    public AsyncTaskRunner(Component owner, JProgressBar progressBar) {
+        this.owner = owner;
+        this.progressBar = progressBar;
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+    }
+
+    /**
+     * Menjalankan future dan mengirim hasilnya ke onSuccess di EDT.
+     * Jika ada permintaan lain dengan kunci yang sama masih berjalan, permintaan itu dibatalkan
+     * dan hasilnya tidak akan pernah ditampilkan.
+     * Harus dipanggil dari EDT.
+     * @param key Kunci permintaan yang saling menggantikan
+     * @param future Future dari AsyncBookDAO
+     * @param onSuccess Dipanggil di EDT dengan hasil future
+     */
+    public <T> void load(String key, CompletableFuture<T> future, Consumer<T> onSuccess) {
+        CompletableFuture<?> previous = latest.put(key, future);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        run(future, result -> {
+            if (latest.get(key) == future) {
+                latest.remove(key);
+                onSuccess.accept(result);
+            }
+        });
+    }
+
+    /**
+     * Menjalankan future tanpa membatalkan permintaan lain, hasilnya dikirim ke EDT.
+     * Harus dipanggil dari EDT.
+     */
+    public <T> void run(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        setBusy(+1);
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            setBusy(-1);
+            if (error == null) {
+                onSuccess.accept(result);
+            } else if (!isCancellation(error)) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                cause.printStackTrace();
+                JOptionPane.showMessageDialog(owner,
+                    "Terjadi kesalahan saat mengakses database:\n" + cause.getMessage(),
+                    "Database Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }));
+    }
+
+    /**
+     * Membatalkan semua permintaan yang masih berjalan (misal saat jendela ditutup)
+     */
+    public void cancelAll() {
+        for (CompletableFuture<?> future : latest.values()) {
+            future.cancel(true);
+        }
+        latest.clear();
+    }
+
+    private static boolean isCancellation(Throwable error) {
+        return error instanceof CancellationException || error.getCause() instanceof CancellationException;
+    }
+
+    // Menampilkan progress bar dan cursor sibuk selama masih ada permintaan berjalan
+    private void setBusy(int delta) {
+        running += delta;
+        boolean busy = running > 0;
+        progressBar.setVisible(busy);
+        owner.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+}
@@ -0,0 +1,148 @@
+package com.bookshelf.gui;
+
+import com.bookshelf.model.Book;
+import java.awt.FlowLayout;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.JToggleButton;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.event.TableModelEvent;
+
+/**
+ * Baris filter di atas tabel: chip status, pilihan genre, dan rentang rating.
+ * Setiap perubahan langsung diterapkan oleh BookRowSorter di memori.
+ */
+public class BookFilterBar extends JPanel {
+    private static final String ALL_GENRES = "Semua genre";
+
+    private final BookRowSorter sorter;
+    private final Map<String, JToggleButton> statusChips = new LinkedHashMap<>();
+    private final JComboBox<String> genreBox = new JComboBox<>(new String[] { ALL_GENRES });
+    private final JSpinner minRating = new JSpinner(
+            new SpinnerNumberModel(BookRowSorter.MIN_RATING, BookRowSorter.MIN_RATING, BookRowSorter.MAX_RATING, 0.5));
+    private final JSpinner maxRating = new JSpinner(
+            new SpinnerNumberModel(BookRowSorter.MAX_RATING, BookRowSorter.MIN_RATING, BookRowSorter.MAX_RATING, 0.5));
+    // Genre yang ada di tabel, tanpa membedakan huruf besar/kecil
+    private final Set<String> genres = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    // Mencegah filter diterapkan saat isi combo genre sedang dibangun ulang
+    private boolean updatingGenres = false;
+
+    public BookFilterBar(BookRowSorter sorter) {
+        super(new FlowLayout(FlowLayout.LEFT));
+        this.sorter = sorter;
+
+        add(new JLabel("Filter:"));
+        for (String status : new String[] { Book.STATUS_WANT_TO_READ, Book.STATUS_READING, Book.STATUS_READ }) {
+            JToggleButton chip = new JToggleButton(status);
+            chip.addActionListener(e -> applyFilter());
+            statusChips.put(status, chip);
+            add(chip);
+        }
+        add(genreBox);
+        add(new JLabel("Rating:"));
+        add(minRating);
+        add(new JLabel("-"));
+        add(maxRating);
+        JButton btnReset = new JButton("Reset");
+        add(btnReset);
+
+        genreBox.addActionListener(e -> {
+            if (!updatingGenres) {
+                applyFilter();
+            }
+        });
+        minRating.addChangeListener(e -> applyFilter());
+        maxRating.addChangeListener(e -> applyFilter());
+        btnReset.addActionListener(e -> reset());
+
+        // Daftar genre mengikuti isi tabel: dibangun ulang saat data diganti, ditambah saat ada baris baru/berubah
+        sorter.getModel().addTableModelListener(this::updateGenres);
+        rebuildGenres();
+    }
+
+    // Menghapus semua kriteria filter
+    public void reset() {
+        for (JToggleButton chip : statusChips.values()) {
+            chip.setSelected(false);
+        }
+        genreBox.setSelectedItem(ALL_GENRES);
+        minRating.setValue(BookRowSorter.MIN_RATING);
+        maxRating.setValue(BookRowSorter.MAX_RATING);
+        applyFilter();
+    }
+
+    private void applyFilter() {
+        Set<String> statuses = new LinkedHashSet<>();
+        for (Map.Entry<String, JToggleButton> chip : statusChips.entrySet()) {
+            if (chip.getValue().isSelected()) {
+                statuses.add(chip.getKey());
+            }
+        }
+        Object selectedGenre = genreBox.getSelectedItem();
+        String genre = selectedGenre == null || ALL_GENRES.equals(selectedGenre) ? null : (String) selectedGenre;
+        double min = (Double) minRating.getValue();
+        double max = (Double) maxRating.getValue();
+        sorter.setFilter(statuses, genre, Math.min(min, max), Math.max(min, max));
+    }
+
+    private void updateGenres(TableModelEvent e) {
+        if (e.getType() == TableModelEvent.DELETE) {
+            return; // Genre yang tidak terpakai lagi dibiarkan sampai data diganti
+        }
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) {
+            rebuildGenres();
+            return;
+        }
+        BookTableModel model = sorter.getModel();
+        boolean added = false;
+        for (int row = e.getFirstRow(); row <= e.getLastRow() && row < model.getRowCount(); row++) {
+            added |= addGenre(model.getBookAt(row));
+        }
+        if (added) {
+            refreshGenreBox();
+        }
+    }
+
+    private void rebuildGenres() {
+        genres.clear();
+        BookTableModel model = sorter.getModel();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            addGenre(model.getBookAt(row));
+        }
+        refreshGenreBox();
+    }
+
+    private boolean addGenre(Book book) {
+        return book != null && book.getGenre() != null && !book.getGenre().trim().isEmpty()
+                && genres.add(book.getGenre().trim());
+    }
+
+    // Isi combo diganti tanpa memicu filter; genre terpilih dipertahankan jika masih ada
+    private void refreshGenreBox() {
+        Object selected = genreBox.getSelectedItem();
+        DefaultComboBoxModel<String> items = new DefaultComboBoxModel<>();
+        items.addElement(ALL_GENRES);
+        for (String genre : genres) {
+            items.addElement(genre);
+        }
+        updatingGenres = true;
+        try {
+            genreBox.setModel(items);
+            genreBox.setSelectedItem(selected != null && genres.contains(selected.toString()) ? selected : ALL_GENRES);
+        } finally {
+            updatingGenres = false;
+        }
+        if (selected != null && !selected.equals(genreBox.getSelectedItem())) {
+            applyFilter(); // Genre terpilih sudah tidak ada
+        }
+    }
+}
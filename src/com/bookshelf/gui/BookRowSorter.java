@@ -0,0 +1,393 @@
+package com.bookshelf.gui;
+
+import com.bookshelf.model.Book;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+/**
+ * Pengurutan (klik header kolom) dan filter di memori untuk BookTableModel, tanpa query ke database.
+ * Setiap baris diberi kunci angka (tahun, halaman, rating, atau peringkat CollationKey untuk teks)
+ * yang dipadatkan bersama nomor barisnya ke long[], lalu diurutkan dengan Arrays.sort primitif.
+ * CollationKey dihitung sekali per teks dan peringkat teks di-cache; perubahan per baris hanya menambal
+ * peringkat baris itu, sehingga mengurutkan ulang 100 ribu baris hanya butuh beberapa milidetik
+ * (lihat ModelBenchmark).
+ */
+public class BookRowSorter extends RowSorter<BookTableModel> {
+    public static final double MIN_RATING = 0.0;
+    public static final double MAX_RATING = 5.0;
+
+    private final BookTableModel model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    // Baris tampilan -> baris model dan sebaliknya (-1 = tersaring); null jika tanpa urutan dan filter
+    private int[] viewToModel;
+    private int[] modelToView;
+
+    private final Collator collator;
+    // Teks sel -> CollationKey, dibuang saat seluruh data tabel diganti
+    private final Map<String, CollationKey> collationKeys = new HashMap<>();
+    // Kolom teks -> peringkat per baris model, ditambal saat baris berubah (lihat TextRanks)
+    private final Map<Integer, TextRanks> textRanks = new HashMap<>();
+
+    // Kriteria filter aktif (status kosong = semua status, genre null = semua genre)
+    private boolean filtered = false;
+    private Set<String> statuses = Collections.emptySet();
+    private String genre;
+    private double minRating = MIN_RATING;
+    private double maxRating = MAX_RATING;
+
+    public BookRowSorter(BookTableModel model) {
+        this.model = model;
+        collator = Collator.getInstance(new Locale("id", "ID"));
+        collator.setStrength(Collator.SECONDARY); // Huruf besar/kecil tidak dibedakan
+    }
+
+    @Override
+    public BookTableModel getModel() {
+        return model;
+    }
+
+    // Klik header: kolom baru diurutkan naik, klik berikutnya membalik arah
+    @Override
+    public void toggleSortOrder(int column) {
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+                && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING) {
+            order = SortOrder.DESCENDING;
+        }
+        setSortKeys(Collections.singletonList(new SortKey(column, order)));
+    }
+
+    /**
+     * Hanya kunci pertama yang dipakai; baris dengan nilai sama tetap dalam urutan model
+     */
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        sortKeys = keys == null || keys.isEmpty()
+                ? Collections.emptyList() : Collections.singletonList(keys.get(0));
+        fireSortOrderChanged();
+        sort();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    /**
+     * Mengganti kriteria filter; hanya baris yang memenuhi semua kriteria yang ditampilkan
+     * @param statuses Status yang ditampilkan, kosong untuk semua status
+     * @param genre Genre yang ditampilkan (tidak membedakan huruf besar/kecil), null untuk semua genre
+     * @param minRating Rating minimum (inklusif)
+     * @param maxRating Rating maksimum (inklusif)
+     */
+    public void setFilter(Set<String> statuses, String genre, double minRating, double maxRating) {
+        this.statuses = new LinkedHashSet<>(statuses);
+        this.genre = genre;
+        this.minRating = minRating;
+        this.maxRating = maxRating;
+        filtered = !this.statuses.isEmpty() || genre != null || minRating > MIN_RATING || maxRating < MAX_RATING;
+        sort();
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            if (index < 0 || index >= model.getRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            if (index < 0 || index >= model.getRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            return index;
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel == null ? model.getRowCount() : viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        collationKeys.clear();
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        collationKeys.clear(); // Data baru, cache lama hanya memakan memori
+        textRanks.clear();
+        sort();
+    }
+
+    // Perubahan per baris (upsert/hapus) langsung diurutkan dan disaring ulang; peringkat teks ditambal
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        textRanks.values().removeIf(ranks -> !ranks.insert(firstRow, endRow));
+        sort();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        textRanks.values().forEach(ranks -> ranks.delete(firstRow, endRow));
+        sort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        textRanks.values().removeIf(ranks -> !ranks.update(firstRow, endRow));
+        sort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    /**
+     * Menghitung ulang urutan tampilan lalu memberi tahu JTable (dengan urutan lama untuk memulihkan seleksi)
+     */
+    private void sort() {
+        int[] previous = viewToModel;
+        SortKey key = sortKeys.isEmpty() ? null : sortKeys.get(0);
+        boolean sorted = key != null && key.getSortOrder() != SortOrder.UNSORTED;
+        int rows = model.getRowCount();
+
+        if (!sorted && !filtered) {
+            viewToModel = null;
+            modelToView = null;
+        } else {
+            int[] order = new int[rows];
+            if (sorted) {
+                // Kunci di 32 bit atas, nomor baris model di 32 bit bawah: nilai sama tetap urut model
+                boolean descending = key.getSortOrder() == SortOrder.DESCENDING;
+                int[] ranks = isTextColumn(key.getColumn()) ? textRanks(key.getColumn()).ranks : null;
+                long[] packed = new long[rows];
+                for (int row = 0; row < rows; row++) {
+                    long value = ranks != null ? ranks[row] : numericKey(row, key.getColumn());
+                    packed[row] = ((descending ? -value : value) << 32) | row;
+                }
+                Arrays.sort(packed);
+                for (int view = 0; view < rows; view++) {
+                    order[view] = (int) packed[view];
+                }
+            } else {
+                for (int row = 0; row < rows; row++) {
+                    order[row] = row;
+                }
+            }
+
+            modelToView = new int[rows];
+            Arrays.fill(modelToView, -1);
+            int visible = 0;
+            for (int row : order) {
+                if (!filtered || include(model.getBookAt(row))) {
+                    modelToView[row] = visible;
+                    order[visible++] = row;
+                }
+            }
+            viewToModel = visible == rows ? order : Arrays.copyOf(order, visible);
+        }
+        if (previous != null || viewToModel != null) {
+            fireRowSorterChanged(previous);
+        }
+    }
+
+    private boolean include(Book book) {
+        if (book == null) {
+            return false;
+        }
+        if (!statuses.isEmpty() && !statuses.contains(book.getStatus())) {
+            return false;
+        }
+        if (genre != null && !genre.equalsIgnoreCase(book.getGenre())) {
+            return false;
+        }
+        return book.getRating() >= minRating && book.getRating() <= maxRating;
+    }
+
+    // Kolom Title, Author, ISBN, Genre, Status
+    private static boolean isTextColumn(int column) {
+        return column == 1 || column == 2 || column == 3 || column == 4 || column == 7;
+    }
+
+    // Kunci angka untuk kolom ID (nomor urut), Year, Pages, dan Rating (dalam perseratus)
+    private long numericKey(int row, int column) {
+        Book book = model.getBookAt(row);
+        if (book == null) {
+            return Integer.MIN_VALUE;
+        }
+        switch (column) {
+            case 5: return book.getPublicationYear();
+            case 6: return book.getPages();
+            case 8: return Math.round(book.getRating() * 100);
+            default: return row;
+        }
+    }
+
+    private static String text(Book book, int column) {
+        String value;
+        switch (column) {
+            case 1: value = book.getTitle(); break;
+            case 2: value = book.getAuthor(); break;
+            case 3: value = book.getIsbn(); break;
+            case 4: value = book.getGenre(); break;
+            default: value = book.getStatus(); break;
+        }
+        return value != null ? value : "";
+    }
+
+    /**
+     * Peringkat teks per baris model: CollationKey diurutkan sekali, teks yang setara mendapat peringkat sama
+     */
+    private TextRanks textRanks(int column) {
+        TextRanks cached = textRanks.get(column);
+        if (cached != null && cached.ranks.length == model.getRowCount()) {
+            return cached;
+        }
+        int rows = model.getRowCount();
+        CollationKey[] keys = new CollationKey[rows];
+        for (int row = 0; row < rows; row++) {
+            keys[row] = collationKey(row, column);
+        }
+        CollationKey[] ordered = keys.clone();
+        Arrays.sort(ordered);
+        // Teks yang sama memakai objek CollationKey yang sama (dari cache), jadi cukup IdentityHashMap
+        Map<CollationKey, Integer> rankOf = new IdentityHashMap<>();
+        CollationKey[] distinct = new CollationKey[rows];
+        int rank = -1;
+        for (int i = 0; i < ordered.length; i++) {
+            if (i == 0 || ordered[i].compareTo(ordered[i - 1]) != 0) {
+                distinct[++rank] = ordered[i];
+            }
+            rankOf.put(ordered[i], rank);
+        }
+        int[] ranks = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            ranks[row] = rankOf.get(keys[row]);
+        }
+        TextRanks computed = new TextRanks(column, keys, ranks, Arrays.copyOf(distinct, rank + 1));
+        textRanks.put(column, computed);
+        return computed;
+    }
+
+    private CollationKey collationKey(int row, int column) {
+        Book book = model.getBookAt(row);
+        return collationKey(book != null ? text(book, column) : "");
+    }
+
+    /**
+     * Peringkat satu kolom teks beserta CollationKey per baris dan daftar kunci berbeda yang terurut
+     * (indeks = peringkat). Baris yang berubah ditambal jika teks barunya sudah punya peringkat;
+     * teks yang belum pernah ada membuat peringkat kolom itu dihitung ulang.
+     */
+    private final class TextRanks {
+        final int column;
+        CollationKey[] keys;
+        int[] ranks;
+        final CollationKey[] distinct;
+
+        TextRanks(int column, CollationKey[] keys, int[] ranks, CollationKey[] distinct) {
+            this.column = column;
+            this.keys = keys;
+            this.ranks = ranks;
+            this.distinct = distinct;
+        }
+
+        // false jika ada teks baru yang belum punya peringkat
+        boolean update(int firstRow, int endRow) {
+            if (endRow >= keys.length) {
+                return false;
+            }
+            for (int row = firstRow; row <= endRow; row++) {
+                CollationKey key = collationKey(row, column);
+                if (key.compareTo(keys[row]) == 0) {
+                    continue; // Teks kolom ini tidak berubah
+                }
+                int rank = Arrays.binarySearch(distinct, key);
+                if (rank < 0) {
+                    return false;
+                }
+                keys[row] = key;
+                ranks[row] = rank;
+            }
+            return true;
+        }
+
+        boolean insert(int firstRow, int endRow) {
+            if (firstRow > keys.length) {
+                return false;
+            }
+            int count = endRow - firstRow + 1;
+            CollationKey[] newKeys = new CollationKey[keys.length + count];
+            int[] newRanks = new int[ranks.length + count];
+            System.arraycopy(keys, 0, newKeys, 0, firstRow);
+            System.arraycopy(keys, firstRow, newKeys, endRow + 1, keys.length - firstRow);
+            System.arraycopy(ranks, 0, newRanks, 0, firstRow);
+            System.arraycopy(ranks, firstRow, newRanks, endRow + 1, ranks.length - firstRow);
+            keys = newKeys;
+            ranks = newRanks;
+            for (int row = firstRow; row <= endRow; row++) {
+                CollationKey key = collationKey(row, column);
+                int rank = Arrays.binarySearch(distinct, key);
+                if (rank < 0) {
+                    return false;
+                }
+                keys[row] = key;
+                ranks[row] = rank;
+            }
+            return true;
+        }
+
+        // Peringkat sisa baris tetap benar urutannya walaupun ada peringkat yang tidak terpakai lagi
+        void delete(int firstRow, int endRow) {
+            if (endRow >= keys.length) {
+                return; // Tidak cocok dengan model; textRanks() menghitung ulang karena panjangnya berbeda
+            }
+            int count = endRow - firstRow + 1;
+            CollationKey[] newKeys = new CollationKey[keys.length - count];
+            int[] newRanks = new int[ranks.length - count];
+            System.arraycopy(keys, 0, newKeys, 0, firstRow);
+            System.arraycopy(keys, endRow + 1, newKeys, firstRow, newKeys.length - firstRow);
+            System.arraycopy(ranks, 0, newRanks, 0, firstRow);
+            System.arraycopy(ranks, endRow + 1, newRanks, firstRow, newRanks.length - firstRow);
+            keys = newKeys;
+            ranks = newRanks;
+        }
+    }
+
+    // CollationKey dihitung sekali per teks; sorter selalu berjalan di EDT sehingga cache tidak perlu lock
+    private CollationKey collationKey(String value) {
+        CollationKey key = collationKeys.get(value);
+        if (key == null) {
+            key = collator.getCollationKey(value);
+            collationKeys.put(value, key);
+        }
+        return key;
+    }
+}
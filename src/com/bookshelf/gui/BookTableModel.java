@@ -1,23 +1,193 @@
 package com.bookshelf.gui;
 
+import com.bookshelf.database.BookRepository;
 import com.bookshelf.model.Book;
+import com.bookshelf.model.BookChanges;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 // Ini adalah contoh inheritance di Java.
 public class BookTableModel extends AbstractTableModel {
     // List untuk menyimpan data buku yang akan ditampilkan di tabel
     private List<Book> books = new ArrayList<>();
+    // ID buku -> indeks baris, agar upsert/hapus per buku tidak perlu mencari di seluruh list
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    // Perubahan per buku yang belum diterapkan (null = hapus), digabung sampai giliran EDT berikutnya
+    private final Map<Integer, Book> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    // Menjalankan ulang pencarian yang hasilnya sedang ditampilkan; null jika tabel berisi seluruh rak
+    private Runnable searchRefresher;
     // Nama-nama kolom pada tabel
     private final String[] columns = {"ID", "Title", "Author", "ISBN", "Genre", "Year", "Pages", "Status", "Rating"};
 
     // Method untuk mengatur ulang data buku pada tabel
     public void setBooks(List<Book> books) {
-        this.books = books;
+        synchronized (pending) {
+            pending.clear(); // Perubahan lama tidak berlaku untuk data baru
+        }
+        this.books = new ArrayList<>(books);
+        searchRefresher = null;
+        reindexFrom(0);
         fireTableDataChanged(); // Memberitahu tabel bahwa data telah berubah, agar tampilan diperbarui
     }
 
+    /**
+     * Menampilkan hasil pencarian/filter. Selama hasil ini tampil, buku yang ditambah atau diubah
+     * tidak dimasukkan langsung (belum tentu cocok dengan query); pencarian dijalankan ulang lewat refresher.
+     * Buku yang dihapus tetap langsung dihapus dari tabel. Harus dipanggil di EDT.
+     * @param books Hasil pencarian
+     * @param refresher Menjalankan ulang pencarian yang sama (dipanggil di EDT)
+     */
+    public void setSearchResults(List<Book> books, Runnable refresher) {
+        setBooks(books);
+        searchRefresher = refresher;
+    }
+
+    /**
+     * Menambah buku baru di akhir tabel atau mengganti baris buku dengan ID yang sama.
+     * Boleh dipanggil dari thread mana pun; perubahan diterapkan di EDT berikutnya
+     * bersama perubahan lain sehingga seleksi dan posisi scroll tetap terjaga.
+     */
+    public void upsert(Book book) {
+        enqueue(book.getId(), book);
+    }
+
+    /**
+     * Menghapus baris buku dengan ID tertentu (diabaikan jika tidak ada di tabel)
+     */
+    public void remove(int bookId) {
+        enqueue(bookId, null);
+    }
+
+    // Menggabungkan hasil delta sync: buku diganti berdasarkan ID (baru di akhir), tombstone dihapus
+    public void applyChanges(BookChanges changes) {
+        if (changes.isFullSnapshot()) {
+            setBooks(changes.getUpserted());
+            return;
+        }
+        for (Book book : changes.getUpserted()) {
+            upsert(book);
+        }
+        for (Integer bookId : changes.getDeletedIds()) {
+            remove(bookId);
+        }
+    }
+
+    private void enqueue(int bookId, Book book) {
+        synchronized (pending) {
+            pending.remove(bookId); // Urutan mengikuti perubahan terakhir
+            pending.put(bookId, book);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::flushPending);
+    }
+
+    /**
+     * Menerapkan semua perubahan yang tertunda (di EDT) dan hanya memberi tahu baris yang terdampak:
+     * hapus per rentang baris berurutan, lalu satu event update dan satu event insert.
+     * Setiap event dikirim tepat setelah perubahannya diterapkan, sehingga listener (misalnya BookRowSorter
+     * yang menambal peringkatnya per event) selalu melihat model yang sesuai dengan event itu.
+     */
+    private void flushPending() {
+        Map<Integer, Book> changes;
+        synchronized (pending) {
+            changes = new LinkedHashMap<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // Hapus dari baris terbawah agar indeks baris di atasnya tidak bergeser
+        List<Integer> removedRows = new ArrayList<>();
+        for (Map.Entry<Integer, Book> change : changes.entrySet()) {
+            Integer row = rowById.get(change.getKey());
+            if (change.getValue() == null && row != null) {
+                removedRows.add(row);
+            }
+        }
+        if (!removedRows.isEmpty()) {
+            removedRows.sort(null);
+            int last = removedRows.size() - 1;
+            while (last >= 0) {
+                int first = last;
+                while (first > 0 && removedRows.get(first - 1) == removedRows.get(first) - 1) {
+                    first--;
+                }
+                books.subList(removedRows.get(first), removedRows.get(last) + 1).clear();
+                fireTableRowsDeleted(removedRows.get(first), removedRows.get(last));
+                last = first - 1;
+            }
+            reindexFrom(removedRows.get(0));
+        }
+
+        // Hasil pencarian: buku tambahan/ubahan belum tentu cocok, jadi pencarian diulang
+        if (searchRefresher != null) {
+            for (Book book : changes.values()) {
+                if (book != null) {
+                    searchRefresher.run();
+                    break;
+                }
+            }
+            return;
+        }
+
+        int firstUpdated = Integer.MAX_VALUE;
+        int lastUpdated = -1;
+        List<Book> inserted = new ArrayList<>();
+        for (Map.Entry<Integer, Book> change : changes.entrySet()) {
+            Book book = change.getValue();
+            if (book == null) {
+                continue;
+            }
+            Integer row = rowById.get(change.getKey());
+            if (row != null) {
+                books.set(row, book);
+                firstUpdated = Math.min(firstUpdated, row);
+                lastUpdated = Math.max(lastUpdated, row);
+            } else {
+                inserted.add(book);
+            }
+        }
+        if (lastUpdated >= 0) {
+            fireTableRowsUpdated(firstUpdated, lastUpdated);
+        }
+        if (!inserted.isEmpty()) {
+            int firstInserted = books.size();
+            for (Book book : inserted) {
+                rowById.put(book.getId(), books.size());
+                books.add(book);
+            }
+            fireTableRowsInserted(firstInserted, books.size() - 1);
+        }
+    }
+
+    // Memperbarui index ID -> baris mulai dari baris tertentu (baris sebelumnya tidak bergeser)
+    private void reindexFrom(int fromRow) {
+        if (fromRow == 0) {
+            rowById.clear();
+        } else {
+            rowById.values().removeIf(row -> row >= fromRow);
+        }
+        for (int row = fromRow; row < books.size(); row++) {
+            rowById.put(books.get(row).getId(), row);
+        }
+    }
+
+    // Memuat ulang seluruh buku milik user dari DAO
+    public void refresh(BookRepository bookDAO) {
+        setBooks(bookDAO.getBooksByUserId());
+    }
+
     // Mengambil objek Book pada baris tertentu
     public Book getBookAt(int row) {
         return books.get(row);
@@ -44,7 +214,10 @@ public class BookTableModel extends AbstractTableModel {
     // Mengembalikan data yang akan ditampilkan pada sel tabel (baris dan kolom tertentu)
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        Book book = books.get(rowIndex);
+        Book book = getBookAt(rowIndex);
+        if (book == null) {
+            return columnIndex == 1 ? "Memuat..." : null; // Baris belum dimuat (model lazy)
+        }
         switch (columnIndex) {
             case 0: return rowIndex + 1;               // ID buku
             case 1: return book.getTitle();            // Judul buku
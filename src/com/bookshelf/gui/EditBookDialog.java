@@ -1,9 +1,10 @@
 package com.bookshelf.gui;
 
-import com.bookshelf.database.BookDAO;
+import com.bookshelf.database.AsyncBookDAO;
 import com.bookshelf.model.Book;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
 
 // Kelas EditBookDialog adalah dialog (jendela pop-up) untuk mengedit data buku yang sudah ada
@@ -17,7 +18,8 @@ public class EditBookDialog extends JDialog {
     private boolean succeeded = false;
     private int userId;
 
-    public EditBookDialog(JFrame parent, BookDAO bookDAO, BookTableModel tableModel, Book book, int userId) {
+    public EditBookDialog(JFrame parent, AsyncBookDAO asyncDAO, AsyncTaskRunner taskRunner,
+                          BookTableModel tableModel, Book book, int userId) {
         super(parent, "Edit Book", true);
         setLayout(new BorderLayout());
         setSize(400, 500);
@@ -89,16 +91,21 @@ public class EditBookDialog extends JDialog {
                 book.setStatus((String) cbStatus.getSelectedItem());
                 book.setRating((Double) spRating.getValue());
 
-                // Update buku di database
-                if (bookDAO.updateBook(book)) {
-                    JOptionPane.showMessageDialog(this, "Book updated successfully!");
-                    succeeded = true;
-                // Mengambil buku berdasarkan user_id yang login
-                tableModel.setBooks(bookDAO.getBooksByUserId(userId));
-                    dispose();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to update book.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                // Update buku di database (di thread database, termasuk notifikasi listener)
+                btnSave.setEnabled(false);
+                CompletableFuture<Boolean> saved = asyncDAO.updateBook(book);
+                saved.whenComplete((updated, error) -> SwingUtilities.invokeLater(() -> btnSave.setEnabled(true)));
+                taskRunner.run(saved, updated -> {
+                    if (updated) {
+                        JOptionPane.showMessageDialog(this, "Book updated successfully!");
+                        succeeded = true;
+                        // Hanya baris buku ini yang diperbarui di tabel
+                        tableModel.upsert(book);
+                        dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to update book.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
 
@@ -0,0 +1,338 @@
+package com.bookshelf.gui;
+
+import com.bookshelf.database.BookRepository;
+import com.bookshelf.model.Book;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+
+/**
+ * Model tabel lazy untuk rak buku yang sangat besar.
+ * Hanya daftar ID yang dimuat di awal; data buku dimuat per blok baris di sekitar
+ * area yang terlihat di JTable, dan blok yang jarang dilihat dibuang (LRU) agar heap tetap kecil.
+ */
+public class LazyBookTableModel extends BookTableModel {
+    // Jumlah baris per blok yang dimuat sekaligus
+    private static final int BLOCK_SIZE = 100;
+    // Jumlah blok maksimum yang disimpan di memori
+    private static final int MAX_BLOCKS = 20;
+    // Jumlah blok di atas dan di bawah viewport yang dimuat lebih dulu
+    private static final int PREFETCH_BLOCKS = 1;
+
+    private final BookRepository bookDAO;
+    private int[] ids = new int[0];
+    // ID buku -> baris di ids, agar upsert/remove tidak perlu memindai seluruh rak
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    // Hasil pencarian (list biasa); jika tidak null, model tidak dalam mode lazy
+    private List<Book> searchResults;
+
+    // Nomor blok -> buku per baris; accessOrder = true untuk LRU
+    private final LinkedHashMap<Integer, Book[]> blocks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Book[]> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+    // Blok yang sedang dimuat di background, agar tidak dimuat dua kali
+    private final java.util.Set<Integer> loading = new java.util.HashSet<>();
+    // Satu thread prefetch dipakai bersama semua model lazy (model baru dibuat setiap login)
+    private static final ExecutorService PREFETCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "bookshelf-table-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LazyBookTableModel(BookRepository bookDAO) {
+        this.bookDAO = bookDAO;
+    }
+
+    /**
+     * Mengganti daftar ID (misalnya hasil query di background) dan membuang semua blok
+     */
+    public void setBookIds(int[] newIds) {
+        synchronized (blocks) {
+            ids = newIds;
+            rowById.clear();
+            for (int row = 0; row < newIds.length; row++) {
+                rowById.put(newIds[row], row);
+            }
+            blocks.clear();
+            searchResults = null;
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Menampilkan list buku biasa (misalnya hasil pencarian) sampai setBookIds() dipanggil lagi
+     */
+    @Override
+    public void setBooks(List<Book> books) {
+        synchronized (blocks) {
+            searchResults = new ArrayList<>(books);
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Buku yang sudah ada diganti di blok yang sudah dimuat; buku baru ditambahkan di akhir
+     * (urutan date_added) tanpa memuat ulang daftar ID. Boleh dipanggil dari thread mana pun.
+     */
+    @Override
+    public void upsert(Book book) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> upsert(book));
+            return;
+        }
+        int row;
+        int searchRow;
+        boolean searching;
+        boolean inserted = false;
+        synchronized (blocks) {
+            searching = searchResults != null;
+            Integer existing = rowById.get(book.getId());
+            if (existing != null) {
+                row = existing;
+                Book[] rows = blocks.get(row / BLOCK_SIZE);
+                if (rows != null) {
+                    rows[row % BLOCK_SIZE] = book;
+                }
+            } else {
+                row = ids.length;
+                ids = java.util.Arrays.copyOf(ids, row + 1);
+                ids[row] = book.getId();
+                rowById.put(book.getId(), row);
+                Book[] rows = blocks.get(row / BLOCK_SIZE);
+                if (rows != null) {
+                    rows[row % BLOCK_SIZE] = book;
+                }
+                inserted = true;
+            }
+            searchRow = indexInSearchResults(book.getId());
+            if (searchRow >= 0) {
+                searchResults.set(searchRow, book);
+            }
+        }
+        // Selama hasil pencarian tampil, hanya baris pencarian yang diberi tahu
+        if (searching) {
+            if (searchRow >= 0) {
+                fireTableRowsUpdated(searchRow, searchRow);
+            }
+        } else if (inserted) {
+            fireTableRowsInserted(row, row);
+        } else {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    /**
+     * Menghapus satu baris dari daftar ID dan menggeser blok yang sudah dimuat (diabaikan jika tidak ada).
+     * Boleh dipanggil dari thread mana pun.
+     */
+    @Override
+    public void remove(int bookId) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> remove(bookId));
+            return;
+        }
+        Integer removed;
+        int searchRow;
+        boolean searching;
+        synchronized (blocks) {
+            searching = searchResults != null;
+            removed = rowById.remove(bookId);
+            if (removed != null) {
+                int row = removed;
+                int[] shrunk = new int[ids.length - 1];
+                System.arraycopy(ids, 0, shrunk, 0, row);
+                System.arraycopy(ids, row + 1, shrunk, row, shrunk.length - row);
+                ids = shrunk;
+                for (int i = row; i < ids.length; i++) {
+                    rowById.put(ids[i], i);
+                }
+                shiftBlocksAfterRemove(row);
+            }
+            searchRow = indexInSearchResults(bookId);
+            if (searchRow >= 0) {
+                searchResults.remove(searchRow);
+            }
+        }
+        if (searching) {
+            if (searchRow >= 0) {
+                fireTableRowsDeleted(searchRow, searchRow);
+            }
+        } else if (removed != null) {
+            fireTableRowsDeleted(removed, removed);
+        }
+    }
+
+    /**
+     * Menggeser isi blok mulai dari blok baris yang dihapus satu posisi ke atas.
+     * Baris terakhir sebuah blok diambil dari blok berikutnya; jika blok itu belum dimuat,
+     * blok dibuang dan akan dimuat ulang saat terlihat. Harus dipanggil di dalam synchronized (blocks).
+     */
+    private void shiftBlocksAfterRemove(int row) {
+        int firstBlock = row / BLOCK_SIZE;
+        // Urut naik: baris pertama blok berikutnya dibaca sebelum blok itu ikut digeser
+        java.util.TreeMap<Integer, Book[]> old = new java.util.TreeMap<>();
+        for (Map.Entry<Integer, Book[]> entry : blocks.entrySet()) {
+            if (entry.getKey() >= firstBlock) {
+                old.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<Integer, Book[]> entry : old.entrySet()) {
+            int block = entry.getKey();
+            Book[] rows = entry.getValue();
+            int from = Math.max(row - block * BLOCK_SIZE, 0);
+            System.arraycopy(rows, from + 1, rows, from, BLOCK_SIZE - 1 - from);
+            int lastRow = (block + 1) * BLOCK_SIZE - 1;
+            Book[] next = old.get(block + 1);
+            if (lastRow >= ids.length) {
+                rows[BLOCK_SIZE - 1] = null;
+            } else if (next != null) {
+                rows[BLOCK_SIZE - 1] = next[0];
+            } else {
+                blocks.remove(block);
+            }
+        }
+        // Blok yang seluruh barisnya sudah melewati akhir daftar tidak diperlukan lagi
+        if (ids.length % BLOCK_SIZE == 0) {
+            blocks.remove(ids.length / BLOCK_SIZE);
+        }
+    }
+
+    // Posisi buku di hasil pencarian, atau -1; harus dipanggil di dalam synchronized (blocks)
+    private int indexInSearchResults(int bookId) {
+        if (searchResults != null) {
+            for (int i = 0; i < searchResults.size(); i++) {
+                if (searchResults.get(i).getId() == bookId) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        synchronized (blocks) {
+            return searchResults != null ? searchResults.size() : ids.length;
+        }
+    }
+
+    /**
+     * Mengambil buku pada baris tertentu tanpa menyentuh database (aman dipanggil di EDT).
+     * Jika bloknya belum dimuat, blok dijadwalkan di thread prefetch dan null dikembalikan;
+     * baris tampil sebagai "memuat" sampai blok selesai dimuat.
+     */
+    @Override
+    public Book getBookAt(int row) {
+        int block = row / BLOCK_SIZE;
+        synchronized (blocks) {
+            if (searchResults != null) {
+                return searchResults.get(row);
+            }
+            Book[] rows = blocks.get(block);
+            if (rows != null) {
+                return rows[row - block * BLOCK_SIZE];
+            }
+        }
+        scheduleBlock(block);
+        return null;
+    }
+
+    /**
+     * Memuat blok di sekitar baris yang terlihat di background, lalu memperbarui tampilan
+     * @param firstVisibleRow Baris pertama yang terlihat
+     * @param lastVisibleRow Baris terakhir yang terlihat
+     */
+    public void prefetch(int firstVisibleRow, int lastVisibleRow) {
+        List<Integer> toLoad = new ArrayList<>();
+        synchronized (blocks) {
+            if (searchResults != null || ids.length == 0) {
+                return;
+            }
+            int lastBlock = (ids.length - 1) / BLOCK_SIZE;
+            int from = Math.max(0, firstVisibleRow / BLOCK_SIZE - PREFETCH_BLOCKS);
+            int to = Math.min(lastBlock, Math.max(firstVisibleRow, lastVisibleRow) / BLOCK_SIZE + PREFETCH_BLOCKS);
+            for (int block = from; block <= to; block++) {
+                toLoad.add(block);
+            }
+        }
+        for (int block : toLoad) {
+            scheduleBlock(block);
+        }
+    }
+
+    /**
+     * Memuat blok di thread prefetch (sekali saja meskipun diminta berkali-kali),
+     * lalu memberi tahu JTable di EDT agar baris blok itu digambar ulang
+     */
+    private void scheduleBlock(int block) {
+        synchronized (blocks) {
+            if (blocks.containsKey(block) || !loading.add(block)) {
+                return;
+            }
+        }
+        PREFETCHER.execute(() -> {
+            try {
+                loadBlock(block);
+            } catch (RuntimeException e) {
+                // Baris tetap tampil "memuat"; blok dicoba lagi saat baris itu digambar ulang
+                System.err.println("Error memuat blok " + block + ": " + e.getMessage());
+                e.printStackTrace();
+                return;
+            } finally {
+                synchronized (blocks) {
+                    loading.remove(block);
+                }
+            }
+            SwingUtilities.invokeLater(() -> fireBlockUpdated(block));
+        });
+    }
+
+    /**
+     * Mengambil data satu blok dari database dan menyimpannya di cache blok
+     */
+    private Book[] loadBlock(int block) {
+        int[] snapshot;
+        synchronized (blocks) {
+            snapshot = ids;
+        }
+        int start = block * BLOCK_SIZE;
+        int end = Math.min(snapshot.length, start + BLOCK_SIZE);
+        List<Integer> blockIds = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            blockIds.add(snapshot[i]);
+        }
+
+        Map<Integer, Book> byId = new HashMap<>();
+        for (Book book : bookDAO.getBooksByIds(blockIds)) {
+            byId.put(book.getId(), book);
+        }
+        // Buku yang sudah dihapus sejak daftar ID dimuat akan tampil sebagai baris kosong
+        Book[] rows = new Book[BLOCK_SIZE];
+        for (int i = 0; i < blockIds.size(); i++) {
+            rows[i] = byId.get(blockIds.get(i));
+        }
+
+        synchronized (blocks) {
+            if (snapshot == ids) {
+                blocks.put(block, rows);
+            }
+        }
+        return rows;
+    }
+
+    private void fireBlockUpdated(int block) {
+        int first = block * BLOCK_SIZE;
+        int last = Math.min(getRowCount(), first + BLOCK_SIZE) - 1;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+}
@@ -6,9 +6,10 @@ import java.awt.*;
 import java.awt.event.*;
 
 // Import class untuk akses database dan model user
-import com.bookshelf.database.UserDAO;
+import com.bookshelf.database.AsyncBookDAO;
+import com.bookshelf.database.UserRepository;
 import com.bookshelf.model.User;
-import java.sql.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Kelas LoginFrame adalah tampilan login berbasis GUI (Swing).
@@ -17,16 +18,22 @@ import java.sql.*;
 public class LoginFrame extends JFrame {
     private JTextField usernameField;       
     private JPasswordField passwordField;   
-    private UserDAO userDAO;                
+    private UserRepository userDAO;         
 
     /**
      * Konstruktor: mengatur tampilan dan event login/register
-     * @param conn Objek koneksi database yang dikirim dari program utama
+     * @param userRepository Akses data user (MySQL atau embedded) dari program utama
      */
-    public LoginFrame(Connection conn) {
-        // Inisialisasi objek DAO
-        userDAO = new UserDAO(conn);
+    public LoginFrame(UserRepository userRepository) {
+        this(CompletableFuture.completedFuture(userRepository));
+    }
 
+    /**
+     * Konstruktor untuk startup cepat: frame langsung tampil, sementara database
+     * masih disiapkan di background. Tombol aktif setelah userRepository siap.
+     * @param userRepository Future yang selesai saat penyimpanan siap dipakai
+     */
+    public LoginFrame(CompletableFuture<? extends UserRepository> userRepository) {
         // Set properti frame
         setTitle("Login");
         setSize(300, 180);
@@ -51,39 +58,57 @@ public class LoginFrame extends JFrame {
         add(registerBtn);
 
         // Event tombol login
-        loginBtn.addActionListener(e -> loginAction());
+        loginBtn.addActionListener(e -> loginAction(loginBtn));
 
         // Event tombol register
         registerBtn.addActionListener(e -> openRegisterDialog());
+
+        // Inisialisasi objek DAO (tombol dinonaktifkan selama database belum siap)
+        if (userRepository.isDone() && !userRepository.isCompletedExceptionally()) {
+            userDAO = userRepository.join();
+        } else {
+            setTitle("Login - menghubungkan ke database...");
+            loginBtn.setEnabled(false);
+            registerBtn.setEnabled(false);
+            userRepository.thenAccept(repository -> SwingUtilities.invokeLater(() -> {
+                userDAO = repository;
+                setTitle("Login");
+                loginBtn.setEnabled(true);
+                registerBtn.setEnabled(true);
+            }));
+        }
     }
 
     /**
      * Method yang dijalankan saat tombol Login ditekan
      * Akan mencoba login ke database dan buka MainFrame jika berhasil
      */
-    private void loginAction() {
-        try {
-            // Cek login ke database
-            boolean success = userDAO.login(
-                usernameField.getText(),
-                new String(passwordField.getPassword())
-            );
-    
-            if (success) {
-                // Mendapatkan user_id setelah login berhasil
-                int userId = userDAO.getUserIdByUsername(usernameField.getText()); // Ambil user_id berdasarkan username
-    
-                JOptionPane.showMessageDialog(this, "Login berhasil!");
-                dispose(); // Tutup frame login
-    
-                // Kirim user_id ke MainFrame untuk menampilkan buku pengguna yang login
-                new MainFrame(userId).setVisible(true); // Pass userId ke MainFrame
-            } else {
-                JOptionPane.showMessageDialog(this, "Username Belum terdaftar/ Password Salah ");
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
+    private void loginAction(JButton loginBtn) {
+        String username = usernameField.getText();
+        String password = new String(passwordField.getPassword());
+        UserRepository repository = userDAO;
+        loginBtn.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        // Cek login ke database sekaligus ambil user_id (satu query), di thread database
+        AsyncBookDAO.supply(() -> repository.authenticate(username, password))
+            .whenComplete((user, error) -> SwingUtilities.invokeLater(() -> {
+                loginBtn.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+                if (error != null) {
+                    error.printStackTrace();
+                } else if (user != null) {
+                    int userId = user.getId();
+
+                    JOptionPane.showMessageDialog(this, "Login berhasil!");
+                    dispose(); // Tutup frame login
+
+                    // Kirim user_id ke MainFrame untuk menampilkan buku pengguna yang login
+                    new MainFrame(userId).setVisible(true); // Pass userId ke MainFrame
+                } else {
+                    JOptionPane.showMessageDialog(this, "Username Belum terdaftar/ Password Salah ");
+                }
+            }));
     }
     
 
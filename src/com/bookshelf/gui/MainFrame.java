@@ -1,19 +1,69 @@
 package com.bookshelf.gui;
 
-import com.bookshelf.database.BookDAO;
-import com.bookshelf.database.DatabaseManager;
+import com.bookshelf.database.AsyncBookDAO;
+import com.bookshelf.database.BookChangeListener;
+import com.bookshelf.database.BookRepository;
+import com.bookshelf.database.ReadingStatsService;
+import com.bookshelf.database.StorageFactory;
+import com.bookshelf.io.BookExporter;
+import com.bookshelf.io.BookImporter;
+import com.bookshelf.io.ImportResult;
+import com.bookshelf.metrics.MetricsRegistry;
 import com.bookshelf.model.Book;
+import com.bookshelf.model.BookChanges;
+import com.bookshelf.model.BookSummary;
+import com.bookshelf.search.BookSearchIndex;
+import com.bookshelf.search.FuzzyTermIndex;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.sql.Connection;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 public class MainFrame extends JFrame {
     private JTable bookTable;
     private BookTableModel tableModel;
-    private BookDAO bookDAO;
+    // Urutan kolom dan filter chip dijalankan di memori atas data yang sudah dimuat
+    private BookRowSorter rowSorter;
+    private BookFilterBar filterBar;
+    private BookRepository bookDAO;
+    // Query database dijalankan di background agar GUI tidak membeku
+    private AsyncBookDAO asyncDAO;
+    private AsyncTaskRunner taskRunner;
+    // Index pencarian di memori untuk filter saat mengetik
+    private final BookSearchIndex searchIndex = new BookSearchIndex();
+    private volatile boolean searchIndexReady = false;
+    // Rak besar (model lazy) tidak memuat buku ke index di memori; pencarian lewat full-text di database
+    private volatile boolean lazyShelf = false;
+    // Rak lazy: index fuzzy kata judul/penulis (hanya ID buku), null selama belum dibangun
+    private volatile FuzzyTermIndex lazyFuzzyTerms;
+    private BookChangeListener shelfListener;
+    private ReadingStatsService.Tracker statsTracker;
+    // Watermark delta sync: null berarti tabel harus dimuat penuh pada refresh berikutnya
+    private LocalDateTime syncWatermark;
+    // Interval polling perubahan dari sesi lain, 0 = mati
+    private static final int SYNC_POLL_SECONDS = Integer.getInteger("bookshelf.sync.pollSeconds", 0);
+    // Jeda setelah ketikan terakhir sebelum filter dijalankan
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    // Panjang query minimum sebelum pencarian fuzzy dicoba saat tidak ada hasil persis
+    private static final int FUZZY_MIN_QUERY_LENGTH = 3;
+    // Jumlah maksimum hasil fuzzy rak lazy yang dimuat dari database
+    private static final int LAZY_FUZZY_MAX_RESULTS = 500;
     private int userId;  // Menyimpan user_id yang diterima dari LoginFrame
+    // Rak dengan buku lebih dari ini ditampilkan dengan model tabel lazy (tanpa urut/filter).
+    // Ringkasan 100 ribu buku (tanpa description) masih muat di heap dan diurutkan dalam milidetik
+    private static final int LAZY_TABLE_THRESHOLD = Integer.getInteger("bookshelf.table.lazyThreshold", 100_000);
 
     // Konstruktor MainFrame menerima user_id
     public MainFrame(int userId) {
@@ -24,12 +74,17 @@ public class MainFrame extends JFrame {
         setSize(900, 500);
         setLocationRelativeTo(null);
 
-        bookDAO = new BookDAO(userId);
+        bookDAO = StorageFactory.bookRepository(userId);
+        asyncDAO = new AsyncBookDAO(bookDAO);
+        shelfListener = createShelfListener();
+        bookDAO.addChangeListener(shelfListener);
+        // Statistik membaca dibaca ulang setelah perubahan buku; snapshot pertama dihitung setelah rak dimuat
+        statsTracker = ReadingStatsService.getInstance().attach(userId, bookDAO);
         tableModel = new BookTableModel();
         bookTable = new JTable(tableModel);
-
-        // Load data buku berdasarkan user_id
-        refreshTable();
+        rowSorter = new BookRowSorter(tableModel);
+        bookTable.setRowSorter(rowSorter);
+        filterBar = new BookFilterBar(rowSorter);
 
         // Toolbar
         JToolBar toolBar = new JToolBar();
@@ -54,11 +109,26 @@ public class MainFrame extends JFrame {
         searchPanel.add(searchField);
         searchPanel.add(btnSearch);
 
+        // Status bar dengan indikator loading
+        JProgressBar progressBar = new JProgressBar();
+        taskRunner = new AsyncTaskRunner(this, progressBar);
+        JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        statusPanel.add(progressBar);
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(statusPanel, BorderLayout.WEST);
+        bottomPanel.add(searchPanel, BorderLayout.EAST);
+
         // Layout
+        JScrollPane tableScroll = new JScrollPane(bookTable);
+        // Muat lebih dulu blok baris di sekitar area yang terlihat setiap kali tabel lazy digulir
+        tableScroll.getViewport().addChangeListener(e -> prefetchVisibleRows(tableScroll));
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(toolBar, BorderLayout.NORTH);
+        topPanel.add(filterBar, BorderLayout.SOUTH);
         setLayout(new BorderLayout());
-        add(toolBar, BorderLayout.NORTH);
-        add(new JScrollPane(bookTable), BorderLayout.CENTER);
-        add(searchPanel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
+        add(tableScroll, BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
 
         // Actions
         btnAdd.addActionListener(e -> showAddBookDialog());
@@ -66,19 +136,247 @@ public class MainFrame extends JFrame {
         btnDelete.addActionListener(e -> deleteSelectedBook());
         btnRefresh.addActionListener(e -> refreshTable());
         btnSearch.addActionListener(e -> searchBooks(searchField.getText().trim()));
+        installSearchAsYouType(searchField);
         btnLogout.addActionListener(e -> logoutApp());
 
         // Menu bar
         setJMenuBar(createMenuBar());
+
+        // Load data buku berdasarkan user_id
+        loadInitialShelf();
+        startSyncPolling();
+    }
+
+    // Menarik perubahan dari sesi/perangkat lain secara berkala (hanya delta sejak watermark)
+    private void startSyncPolling() {
+        if (SYNC_POLL_SECONDS <= 0) {
+            return;
+        }
+        Timer poller = new Timer(SYNC_POLL_SECONDS * 1000, e -> {
+            if (!isDisplayable()) {
+                ((Timer) e.getSource()).stop(); // Frame sudah ditutup (logout)
+            } else if (syncWatermark != null && !(tableModel instanceof LazyBookTableModel)) {
+                refreshTable();
+            }
+        });
+        poller.start();
+    }
+
+    // Memuat rak pertama kali: rak yang sangat besar ditampilkan dengan model lazy
+    private void loadInitialShelf() {
+        taskRunner.load("books", asyncDAO.getBookIdsByUserId(), ids -> {
+            if (ids.length > LAZY_TABLE_THRESHOLD) {
+                LazyBookTableModel lazyModel = new LazyBookTableModel(bookDAO);
+                // Urut/filter di memori akan memuat semua blok, jadi dimatikan untuk model lazy
+                bookTable.setRowSorter(null);
+                filterBar.setVisible(false);
+                tableModel = lazyModel;
+                bookTable.setModel(lazyModel);
+                lazyModel.setBookIds(ids);
+                lazyShelf = true;
+                rebuildLazyFuzzyTerms();
+            } else {
+                refreshTable();
+            }
+            refreshStatistics();
+        });
+    }
+
+    // Membaca snapshot statistik membaca di background (counter yang dijaga trigger, tanpa memuat rak)
+    private void refreshStatistics() {
+        asyncDAO.submit(dao -> statsTracker.refresh());
+    }
+
+    // Listener perubahan buku: index pencarian diperbarui per buku, tanpa memuat ulang rak
+    private BookChangeListener createShelfListener() {
+        return new BookChangeListener() {
+            @Override
+            public void bookAdded(Book book) {
+                bookUpdated(book);
+            }
+
+            @Override
+            public void bookUpdated(Book book) {
+                FuzzyTermIndex lazyTerms = lazyFuzzyTerms;
+                if (!lazyShelf) {
+                    searchIndex.addOrUpdate(book);
+                } else if (lazyTerms != null) {
+                    lazyTerms.addOrUpdate(book.getId(), book.getTitle(), book.getAuthor());
+                }
+            }
+
+            @Override
+            public void bookRemoved(int bookId) {
+                FuzzyTermIndex lazyTerms = lazyFuzzyTerms;
+                if (!lazyShelf) {
+                    searchIndex.remove(bookId);
+                } else if (lazyTerms != null) {
+                    lazyTerms.remove(bookId);
+                }
+            }
+
+            @Override
+            public void shelfChanged() {
+                SwingUtilities.invokeLater(() -> {
+                    syncWatermark = null; // Perubahan massal (import): muat penuh, bukan delta
+                    refreshTable();
+                });
+            }
+        };
+    }
+
+    // Filter tabel setiap kali mengetik, memakai index di memori dengan debounce
+    private void installSearchAsYouType(JTextField searchField) {
+        Timer debounce = new Timer(SEARCH_DEBOUNCE_MS, e -> filterAsYouType(searchField.getText().trim()));
+        debounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { debounce.restart(); }
+            public void removeUpdate(DocumentEvent e) { debounce.restart(); }
+            public void changedUpdate(DocumentEvent e) { debounce.restart(); }
+        });
+    }
+
+    private void filterAsYouType(String keyword) {
+        if (lazyShelf) {
+            // Rak besar: full-text di database (keyword kosong kembali ke tampilan lazy)
+            searchBooks(keyword);
+            return;
+        }
+        if (!searchIndexReady) {
+            return; // Index belum siap, gunakan tombol Search
+        }
+        List<Book> results = searchIndex.search(keyword);
+        if (results.isEmpty() && keyword.length() >= FUZZY_MIN_QUERY_LENGTH) {
+            results = searchIndex.fuzzySearch(keyword); // Mungkin salah ketik
+        }
+        // Lewat kunci "books" yang sama agar refresh/pencarian yang masih berjalan dibatalkan
+        // dan tidak menimpa hasil filter ini ketika selesai belakangan
+        BookTableModel model = tableModel;
+        syncWatermark = null; // Tabel berisi hasil filter, bukan seluruh rak
+        taskRunner.load("books", CompletableFuture.completedFuture(results),
+                books -> model.setSearchResults(books, () -> filterAsYouType(keyword)));
+    }
+
+    // Method untuk menyegarkan tabel setelah menambahkan buku
+    private void refreshTable() {
+        // Memuat ulang data buku dari database di background lalu memperbarui tampilan
+        // Diukur dari klik sampai tabel selesai diperbarui (termasuk antrean EDT)
+        MetricsRegistry.Sample sample = MetricsRegistry.getInstance().start("gui.refreshTable");
+        if (tableModel instanceof LazyBookTableModel) {
+            LazyBookTableModel lazyModel = (LazyBookTableModel) tableModel;
+            CompletableFuture<int[]> ids = asyncDAO.getBookIdsByUserId();
+            closeOnFailure(ids, sample);
+            taskRunner.load("books", ids, loaded -> {
+                lazyModel.setBookIds(loaded);
+                sample.rows(loaded.length).close();
+            });
+            rebuildLazyFuzzyTerms();
+        } else {
+            // Tanpa watermark: muat seluruh rak; dengan watermark: hanya buku yang berubah/dihapus sejak itu
+            BookTableModel model = tableModel;
+            LocalDateTime since = syncWatermark;
+            CompletableFuture<BookChanges> shelf = asyncDAO.submit(dao -> {
+                BookChanges changes = dao.getChangesSince(since);
+                applyToIndexes(changes);
+                return changes;
+            });
+            closeOnFailure(shelf, sample);
+            taskRunner.load("books", shelf, changes -> {
+                model.applyChanges(changes);
+                syncWatermark = changes.getWatermark();
+                searchIndexReady = true;
+                sample.rows(changes.getUpserted().size() + changes.getDeletedIds().size()).close();
+            });
+        }
+    }
+
+    // Membangun ulang index fuzzy rak lazy dari proyeksi (id, judul, penulis) di thread database.
+    // Index baru menggantikan yang lama setelah selesai, jadi pencarian tidak melihat index setengah jadi
+    private void rebuildLazyFuzzyTerms() {
+        asyncDAO.submit(dao -> {
+            FuzzyTermIndex terms = new FuzzyTermIndex();
+            try {
+                dao.streamTitlesAndAuthors(terms::addOrUpdate);
+                lazyFuzzyTerms = terms;
+            } catch (SQLException e) {
+                System.err.println("Error membangun index fuzzy: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return terms.size();
+        });
+    }
+
+    // Pencarian toleran salah ketik (dipanggil di thread database): index di memori untuk rak biasa,
+    // index kata judul/penulis lalu getBooksByIds untuk rak lazy
+    private List<Book> fuzzySearch(BookRepository dao, String keyword) {
+        if (!lazyShelf) {
+            return searchIndexReady ? searchIndex.fuzzySearch(keyword) : new ArrayList<>();
+        }
+        FuzzyTermIndex lazyTerms = lazyFuzzyTerms;
+        if (lazyTerms == null) {
+            return new ArrayList<>(); // Index belum selesai dibangun
+        }
+        List<Integer> ids = lazyTerms.search(keyword, LAZY_FUZZY_MAX_RESULTS);
+        // getBooksByIds tidak menjaga urutan, jadi diurutkan kembali sesuai skor kemiripan
+        Map<Integer, Book> byId = new HashMap<>();
+        for (Book book : dao.getBooksByIds(ids)) {
+            byId.put(book.getId(), book);
+        }
+        List<Book> books = new ArrayList<>();
+        for (Integer id : ids) {
+            Book book = byId.get(id);
+            if (book != null) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    // Index pencarian dan statistik ikut diperbarui dari delta (dipanggil di thread database)
+    private void applyToIndexes(BookChanges changes) {
+        if (changes.isFullSnapshot()) {
+            searchIndex.rebuild(changes.getUpserted());
+            return;
+        }
+        // Perubahan dari sesi lain tidak melewati listener, jadi diteruskan ke sini
+        for (Book book : changes.getUpserted()) {
+            searchIndex.addOrUpdate(book);
+            statsTracker.bookUpdated(book);
+        }
+        for (Integer bookId : changes.getDeletedIds()) {
+            searchIndex.remove(bookId);
+            statsTracker.bookRemoved(bookId);
+        }
+    }
+
+    // Permintaan yang gagal dicatat sebagai error; yang dibatalkan karena diganti permintaan baru tidak
+    private static void closeOnFailure(CompletableFuture<?> future, MetricsRegistry.Sample sample) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                if (!future.isCancelled()) {
+                    sample.error();
+                }
+                sample.close();
+            }
+        });
     }
 
-        // Method untuk menyegarkan tabel setelah menambahkan buku
-        private void refreshTable() {
-            // Memuat ulang data buku dari database dan memperbarui tampilan
-            List<Book> books = bookDAO.getBooksByUserId();  // Misalnya mendapatkan data berdasarkan user_id
-            tableModel.setBooks(books);  // Memperbarui model tabel dengan data terbaru
-            tableModel.fireTableDataChanged();  // Memberitahu JTable untuk menyegarkan tampilan
+    // Meminta model lazy memuat blok di sekitar baris yang sedang terlihat
+    private void prefetchVisibleRows(JScrollPane scrollPane) {
+        if (!(tableModel instanceof LazyBookTableModel)) {
+            return;
         }
+        Rectangle view = scrollPane.getViewport().getViewRect();
+        int first = bookTable.rowAtPoint(new Point(0, view.y));
+        int last = bookTable.rowAtPoint(new Point(0, view.y + view.height - 1));
+        if (first < 0) {
+            return;
+        }
+        if (last < 0) {
+            last = tableModel.getRowCount() - 1;
+        }
+        ((LazyBookTableModel) tableModel).prefetch(first, last);
+    }
 
 
     private void logoutApp() {
@@ -88,15 +386,15 @@ public class MainFrame extends JFrame {
             JOptionPane.YES_NO_OPTION);
             
         if (confirm == JOptionPane.YES_OPTION) {
+            taskRunner.cancelAll(); // Hentikan query yang masih berjalan
+            bookDAO.removeChangeListener(shelfListener);
+            ReadingStatsService.getInstance().detach(userId);
             dispose(); // Tutup MainFrame
             
             // Buka kembali LoginFrame
             try {
-                // Menggunakan DatabaseManager dengan pola Singleton
-                DatabaseManager dbManager = DatabaseManager.getInstance();
-                Connection conn = dbManager.getConnection();
-                
-                LoginFrame loginFrame = new LoginFrame(conn);
+                // Backend penyimpanan dipilih oleh StorageFactory (MySQL atau embedded)
+                LoginFrame loginFrame = new LoginFrame(StorageFactory.userRepository());
                 loginFrame.setVisible(true);
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -110,13 +408,24 @@ public class MainFrame extends JFrame {
         if (keyword.isEmpty()) {
             refreshTable(); // Jika tidak ada keyword, tampilkan semua buku
         } else {
-            List<Book> books = bookDAO.searchBooks(keyword);
-            tableModel.setBooks(books);
+            // Pencarian baru membatalkan pencarian/refresh sebelumnya yang belum selesai
+            BookTableModel model = tableModel;
+            CompletableFuture<List<Book>> search = asyncDAO.submit(dao -> {
+                List<Book> books = dao.searchBooksFullText(keyword);
+                if (books.isEmpty() && keyword.length() >= FUZZY_MIN_QUERY_LENGTH) {
+                    books = fuzzySearch(dao, keyword); // Tidak ada hasil persis, coba toleransi salah ketik
+                }
+                return books;
+            });
+            taskRunner.load("books", search, books -> {
+                syncWatermark = null; // Tabel berisi hasil pencarian, bukan seluruh rak
+                model.setSearchResults(books, () -> searchBooks(keyword));
+            });
         }
     }
 
     private void showAddBookDialog() {
-        AddBookDialog dialog = new AddBookDialog(this, bookDAO, tableModel, userId);  // Menambahkan userId
+        AddBookDialog dialog = new AddBookDialog(this, asyncDAO, taskRunner, tableModel, userId);  // Menambahkan userId
         dialog.setVisible(true);
     }
     
@@ -127,8 +436,26 @@ public class MainFrame extends JFrame {
             JOptionPane.showMessageDialog(this, "Pilih buku yang ingin diedit.");
             return;
         }
-        Book book = tableModel.getBookAt(selectedRow);
-        EditBookDialog dialog = new EditBookDialog(this, bookDAO, tableModel, book, userId);
+        Book book = tableModel.getBookAt(bookTable.convertRowIndexToModel(selectedRow));
+        if (book == null) {
+            return; // Baris sudah dihapus atau belum termuat
+        }
+        if (!(book instanceof BookSummary)) {
+            openEditDialog(book);
+            return;
+        }
+        // Baris tabel dimuat tanpa deskripsi, ambil data lengkap di background sebelum diedit
+        taskRunner.run(asyncDAO.getBookById(book.getId()), fullBook -> {
+            if (fullBook == null) {
+                JOptionPane.showMessageDialog(this, "Buku tidak ditemukan.");
+            } else {
+                openEditDialog(fullBook);
+            }
+        });
+    }
+
+    private void openEditDialog(Book book) {
+        EditBookDialog dialog = new EditBookDialog(this, asyncDAO, taskRunner, tableModel, book, userId);
         dialog.setVisible(true);
     }
 
@@ -138,24 +465,149 @@ public class MainFrame extends JFrame {
             JOptionPane.showMessageDialog(this, "Pilih buku yang ingin dihapus.");
             return;
         }
-        Book book = tableModel.getBookAt(selectedRow);
+        Book book = tableModel.getBookAt(bookTable.convertRowIndexToModel(selectedRow));
+        if (book == null) {
+            return; // Baris sudah dihapus atau belum termuat
+        }
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Yakin ingin menghapus buku \"" + book.getTitle() + "\"?",
                 "Konfirmasi Hapus", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            if (bookDAO.deleteBook(book.getId())) {
-                refreshTable();
-                JOptionPane.showMessageDialog(this, "Buku berhasil dihapus.");
-            } else {
-                JOptionPane.showMessageDialog(this, "Gagal menghapus buku.");
+            taskRunner.run(asyncDAO.deleteBook(book.getId()), deleted -> {
+                if (deleted) {
+                    tableModel.remove(book.getId()); // Hanya baris ini yang dihapus dari tabel
+                    JOptionPane.showMessageDialog(this, "Buku berhasil dihapus.");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Gagal menghapus buku.");
+                }
+            });
+        }
+    }
+
+    // Impor massal dari file CSV/JSON di thread database, dengan progress dan tombol batal
+    private void importBooks() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Buku");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV / JSON (*.csv, *.json, *.jsonl)", "csv", "json", "jsonl", "ndjson"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Mengimpor " + file.getName(), "Membaca file...", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+        monitor.setMillisToPopup(0);
+        BookImporter importer = new BookImporter(bookDAO);
+        CompletableFuture<ImportResult> future = asyncDAO.submit(dao -> {
+            try {
+                return importer.importFile(file, (processed, imported, failed, fraction) ->
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.setProgress((int) (fraction * 100));
+                        monitor.setNote(imported + " buku diimpor, " + failed + " baris gagal");
+                    }));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e.getMessage(), e);
             }
+        });
+
+        // ProgressMonitor tidak punya listener untuk tombol Cancel, jadi diperiksa berkala
+        Timer cancelCheck = new Timer(200, e -> {
+            if (monitor.isCanceled()) {
+                importer.cancel();
+            }
+        });
+        cancelCheck.start();
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            cancelCheck.stop();
+            monitor.close();
+        }));
+
+        taskRunner.run(future, this::showImportResult);
+    }
+
+    private void showImportResult(ImportResult result) {
+        if (result.getErrors().isEmpty()) {
+            JOptionPane.showMessageDialog(this, result.getSummary(), "Import Selesai", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+        JTextArea errors = new JTextArea(String.join("\n", result.getErrors()), 12, 60);
+        errors.setEditable(false);
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.add(new JLabel(result.getSummary()), BorderLayout.NORTH);
+        panel.add(new JScrollPane(errors), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, "Import Selesai", JOptionPane.WARNING_MESSAGE);
+    }
+
+    // Ekspor seluruh rak secara streaming (CSV atau JSON Lines) di thread database
+    private void exportBooks() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Buku");
+        FileNameExtensionFilter csvFilter = new FileNameExtensionFilter("CSV (*.csv)", "csv");
+        chooser.addChoosableFileFilter(csvFilter);
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("JSON Lines (*.jsonl)", "jsonl"));
+        chooser.setFileFilter(csvFilter);
+        chooser.setSelectedFile(new File("bookshelf.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File selected = chooser.getSelectedFile();
+        if (!selected.getName().contains(".")) {
+            String extension = chooser.getFileFilter() == csvFilter ? ".csv" : ".jsonl";
+            selected = new File(selected.getParentFile(), selected.getName() + extension);
+        }
+        if (selected.exists() && JOptionPane.showConfirmDialog(this,
+                "File \"" + selected.getName() + "\" sudah ada. Timpa?", "Konfirmasi Export",
+                JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+        File file = selected;
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Mengekspor ke " + file.getName(), "Menghitung buku...", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+        monitor.setMillisToPopup(0);
+        BookExporter exporter = new BookExporter(bookDAO);
+        CompletableFuture<Integer> future = asyncDAO.submit(dao -> {
+            int total = Math.max(1, dao.getBooksCountByUserId());
+            try {
+                return exporter.export(file, BookExporter.formatOf(file), exported ->
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.setProgress(Math.min(100, exported * 100 / total));
+                        monitor.setNote(exported + " buku diekspor");
+                    }));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e.getMessage(), e);
+            }
+        });
+
+        Timer cancelCheck = new Timer(200, e -> {
+            if (monitor.isCanceled()) {
+                exporter.cancel();
+            }
+        });
+        cancelCheck.start();
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            cancelCheck.stop();
+            monitor.close();
+        }));
+
+        taskRunner.run(future, exported -> JOptionPane.showMessageDialog(this,
+            exported + " buku diekspor ke " + file.getAbsolutePath(), "Export Selesai", JOptionPane.INFORMATION_MESSAGE));
     }
 
     private JMenuBar createMenuBar() {
         JMenuBar menuBar = new JMenuBar();
 
         JMenu menuFile = new JMenu("File");
+        JMenuItem miImport = new JMenuItem(new AbstractAction("Import...") {
+            public void actionPerformed(ActionEvent e) {
+                importBooks();
+            }
+        });
+        JMenuItem miExport = new JMenuItem(new AbstractAction("Export...") {
+            public void actionPerformed(ActionEvent e) {
+                exportBooks();
+            }
+        });
         JMenuItem miExit = new JMenuItem(new AbstractAction("Exit") {
             public void actionPerformed(ActionEvent e) {
                 dispose();
@@ -175,6 +627,9 @@ public class MainFrame extends JFrame {
             }
         });
 
+        menuFile.add(miImport);
+        menuFile.add(miExport);
+        menuFile.addSeparator();
         menuFile.add(miExit);
         menuHelp.add(miAbout);
         menuHelp.add(miSystemInfo);
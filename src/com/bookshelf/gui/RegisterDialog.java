@@ -6,7 +6,7 @@ import java.awt.*;
 
 // Import event handling & database
 import java.awt.event.*;
-import com.bookshelf.database.UserDAO;
+import com.bookshelf.database.UserRepository;
 import com.bookshelf.model.User;
 import java.sql.*;
 
@@ -23,7 +23,7 @@ public class RegisterDialog extends JDialog {
      * @param parent  Frame induk (LoginFrame)
      * @param userDAO Objek akses database user
      */
-    public RegisterDialog(JFrame parent, UserDAO userDAO) {
+    public RegisterDialog(JFrame parent, UserRepository userDAO) {
         super(parent, "Register", true); // Judul dialog dan modal = true (blokir parent)
         setSize(300, 150);
         setLayout(new GridLayout(3, 2)); // Tata letak grid: 3 baris, 2 kolom
@@ -0,0 +1,201 @@
+package com.bookshelf.io;
+
+import com.bookshelf.database.BookRepository;
+import com.bookshelf.model.Book;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Ekspor rak buku user ke CSV atau JSON Lines secara streaming:
+ * setiap baris dari database (BookRepository.streamBooksByUserId) langsung ditulis ke file
+ * lewat writer ber-buffer, tanpa menyimpan seluruh rak di memori.
+ * File ditulis ke "<nama>.part" lalu dipindahkan setelah selesai, sehingga ekspor yang gagal
+ * tidak meninggalkan file setengah jadi.
+ */
+public class BookExporter {
+
+    public enum Format { CSV, JSON_LINES }
+
+    // Ukuran buffer writer (karakter) dan buffer encoder channel (byte)
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Progres dilaporkan setiap sekian baris
+    private static final int PROGRESS_INTERVAL = 1_000;
+    private static final Set<String> NUMERIC_COLUMNS = Set.of("publication_year", "pages", "rating");
+
+    /**
+     * Callback progres, dipanggil dari thread ekspor
+     */
+    @FunctionalInterface
+    public interface ExportProgress {
+        void update(int exportedRows);
+    }
+
+    private final BookRepository bookDAO;
+    private volatile boolean cancelRequested = false;
+
+    public BookExporter(BookRepository bookDAO) {
+        this.bookDAO = bookDAO;
+    }
+
+    /**
+     * Menentukan format dari ekstensi file (.jsonl, .ndjson, .json = JSON Lines, selainnya CSV)
+     */
+    public static Format formatOf(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return Format.JSON_LINES;
+        }
+        return Format.CSV;
+    }
+
+    /**
+     * Mengekspor seluruh rak user ke file
+     * @param file File tujuan (ditimpa jika sudah ada)
+     * @param format Format file
+     * @param progress Callback progres (boleh null)
+     * @return Jumlah buku yang diekspor
+     * @throws IOException jika file gagal ditulis atau query gagal
+     * @throws CancellationException jika dibatalkan dengan cancel()
+     */
+    public int export(File file, Format format, ExportProgress progress) throws IOException {
+        Path target = file.toPath();
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        boolean completed = false;
+
+        try (FileChannel channel = FileChannel.open(part,
+                 StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer out = new BufferedWriter(
+                 Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE)) {
+
+            if (format == Format.CSV) {
+                writeCsvRow(out, BookRecords.COLUMNS);
+            }
+            String[] values = new String[BookRecords.COLUMNS.length];
+            int[] rows = {0};
+
+            bookDAO.streamBooksByUserId(book -> {
+                if (cancelRequested) {
+                    throw new CancellationException("Ekspor dibatalkan");
+                }
+                try {
+                    if (format == Format.CSV) {
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = BookRecords.value(book, BookRecords.COLUMNS[i]);
+                        }
+                        writeCsvRow(out, values);
+                    } else {
+                        writeJsonLine(out, book);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++rows[0] % PROGRESS_INTERVAL == 0 && progress != null) {
+                    progress.update(rows[0]);
+                }
+            });
+
+            out.flush();
+            channel.force(false);
+            completed = true;
+            if (progress != null) {
+                progress.update(rows[0]);
+            }
+            return rows[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SQLException e) {
+            throw new IOException("Gagal membaca buku dari database: " + e.getMessage(), e);
+        } finally {
+            if (completed) {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * Meminta ekspor berhenti (boleh dipanggil dari thread lain); file sementara dihapus
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    private static void writeCsvRow(Writer out, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeJsonLine(Writer out, Book book) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (String column : BookRecords.COLUMNS) {
+            String value = BookRecords.value(book, column);
+            if (value == null) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeJsonString(out, column);
+            out.write(':');
+            if (NUMERIC_COLUMNS.contains(column)) {
+                out.write(value);
+            } else {
+                writeJsonString(out, value);
+            }
+        }
+        out.write("}\n");
+    }
+
+    private static void writeJsonString(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,194 @@
+package com.bookshelf.io;
+
+import com.bookshelf.database.BookRepository;
+import com.bookshelf.model.Book;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Impor massal buku dari file CSV atau JSON ke rak user.
+ * File dibaca secara streaming, setiap baris divalidasi dengan Book.isValid(),
+ * lalu buku yang valid ditulis per chunk dalam satu transaksi (BookRepository.addBooksBatch).
+ * Jika satu chunk gagal, baris-baris di chunk itu dicoba satu per satu agar error bisa ditunjuk per baris.
+ */
+public class BookImporter {
+
+    /**
+     * Jumlah buku per transaksi
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    /**
+     * Callback progres, dipanggil dari thread impor setiap satu chunk selesai ditulis
+     */
+    @FunctionalInterface
+    public interface ImportProgress {
+        void update(int processedRows, int importedRows, int failedRows, double fraction);
+    }
+
+    private final BookRepository bookDAO;
+    private final int chunkSize;
+    private volatile boolean cancelRequested = false;
+
+    public BookImporter(BookRepository bookDAO) {
+        this(bookDAO, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BookImporter(BookRepository bookDAO, int chunkSize) {
+        this.bookDAO = bookDAO;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Mengimpor file; format ditentukan dari ekstensi (.json, .jsonl, .ndjson = JSON, selainnya CSV)
+     * Impor bisa dihentikan dengan cancel() atau meng-interrupt thread; chunk yang sudah di-commit tetap tersimpan.
+     * @param file File yang diimpor (UTF-8)
+     * @param progress Callback progres (boleh null)
+     * @return Hasil impor
+     * @throws IOException jika file tidak bisa dibaca atau formatnya rusak
+     */
+    public ImportResult importFile(File file, ImportProgress progress) throws IOException {
+        long total = Math.max(1, file.length());
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)));
+             BookRecordReader reader = openReader(file.getName(), in)) {
+            return importRecords(reader, progress, () -> Math.min(1.0, (double) in.count / total));
+        }
+    }
+
+    /**
+     * Mengimpor semua record dari reader
+     * @param fraction Perkiraan bagian file yang sudah dibaca (0.0 - 1.0)
+     */
+    public ImportResult importRecords(BookRecordReader reader, ImportProgress progress, DoubleSupplier fraction)
+            throws IOException {
+        ImportResult result = new ImportResult();
+        List<Book> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLines = new ArrayList<>(chunkSize);
+
+        try {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                result.rowProcessed();
+                try {
+                    chunk.add(BookRecords.toBook(record));
+                    chunkLines.add(reader.getLineNumber());
+                } catch (IllegalArgumentException e) {
+                    result.rowFailed(reader.getLineNumber(), e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, chunkLines, result);
+                    report(progress, result, fraction.getAsDouble());
+                    if (cancelRequested || Thread.currentThread().isInterrupted()) {
+                        result.markCancelled();
+                        return result;
+                    }
+                }
+            }
+            writeChunk(chunk, chunkLines, result);
+            report(progress, result, 1.0);
+            return result;
+        } finally {
+            // Rak di cache dan GUI dimuat ulang sekali saja setelah impor
+            if (result.getImportedRows() > 0) {
+                bookDAO.notifyShelfChanged();
+            }
+        }
+    }
+
+    /**
+     * Meminta impor berhenti setelah chunk yang sedang ditulis (boleh dipanggil dari thread lain)
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    private void writeChunk(List<Book> chunk, List<Integer> lines, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            result.rowsImported(bookDAO.addBooksBatch(chunk));
+        } catch (SQLException e) {
+            // Cari baris penyebabnya dengan mencoba ulang satu per satu
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    result.rowsImported(bookDAO.addBooksBatch(Collections.singletonList(chunk.get(i))));
+                } catch (SQLException rowError) {
+                    result.rowFailed(lines.get(i), rowError.getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private static void report(ImportProgress progress, ImportResult result, double fraction) {
+        if (progress != null) {
+            progress.update(result.getProcessedRows(), result.getImportedRows(), result.getFailedRows(), fraction);
+        }
+    }
+
+    private static BookRecordReader openReader(String fileName, InputStream in) throws IOException {
+        Reader reader = skipByteOrderMark(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return new JsonBookRecordReader(reader);
+        }
+        return new CsvBookRecordReader(reader);
+    }
+
+    // Melewati BOM UTF-8 di awal file (biasanya dari Excel)
+    private static Reader skipByteOrderMark(Reader reader) throws IOException {
+        BufferedReader buffered = new BufferedReader(reader);
+        buffered.mark(1);
+        if (buffered.read() != '\uFEFF') {
+            buffered.reset();
+        }
+        return buffered;
+    }
+
+    /**
+     * InputStream yang menghitung jumlah byte yang sudah dibaca (untuk progres)
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
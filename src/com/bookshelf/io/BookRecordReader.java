@@ -0,0 +1,24 @@
+package com.bookshelf.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pembaca record buku secara streaming (satu record per panggilan next)
+ * sehingga file besar tidak perlu dimuat seluruhnya ke memori.
+ */
+public interface BookRecordReader extends Closeable {
+
+    /**
+     * Membaca record berikutnya
+     * @return Nama kolom (huruf kecil) -> nilai teks, atau null jika sudah habis
+     * @throws IOException jika file tidak bisa dibaca atau formatnya rusak
+     */
+    Map<String, String> next() throws IOException;
+
+    /**
+     * Nomor baris tempat record terakhir dimulai (untuk pesan error)
+     */
+    int getLineNumber();
+}
@@ -0,0 +1,135 @@
+package com.bookshelf.io;
+
+import com.bookshelf.model.Book;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Konversi antara record teks (CSV/JSON) dan objek Book.
+ * Nama kolom sama dengan kolom tabel books; "year" diterima sebagai alias publication_year.
+ */
+public final class BookRecords {
+
+    /**
+     * Urutan kolom standar untuk impor dan ekspor
+     */
+    public static final String[] COLUMNS = {
+        "title", "author", "isbn", "genre", "publication_year", "pages", "description", "rating", "status", "date_added"
+    };
+
+    private BookRecords() {
+    }
+
+    /**
+     * Membuat Book dari satu record
+     * @throws IllegalArgumentException jika angka tidak valid atau data tidak lolos validasi Book
+     */
+    public static Book toBook(Map<String, String> record) {
+        Book book = new Book();
+        book.setTitle(text(record, "title"));
+        book.setAuthor(text(record, "author"));
+        book.setIsbn(text(record, "isbn"));
+        book.setGenre(text(record, "genre"));
+        String year = text(record, "publication_year");
+        book.setPublicationYear(parseInt(year != null ? year : text(record, "year"), "publication_year"));
+        book.setPages(parseInt(text(record, "pages"), "pages"));
+        book.setDescription(text(record, "description"));
+        String rating = text(record, "rating");
+        if (rating != null) {
+            try {
+                book.setRating(Double.parseDouble(rating));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("rating bukan angka: " + rating);
+            }
+        }
+        String status = text(record, "status");
+        if (status != null) {
+            book.setStatus(status);
+        }
+        String dateAdded = text(record, "date_added");
+        if (dateAdded != null) {
+            try {
+                book.setDateAdded(LocalDateTime.parse(dateAdded));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("date_added harus berformat yyyy-MM-ddTHH:mm:ss: " + dateAdded);
+            }
+        }
+
+        String problem = validationError(book);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        return book;
+    }
+
+    /**
+     * Nilai satu kolom dari buku dalam bentuk teks (kebalikan dari toBook)
+     * @return Nilai kolom, atau null jika kosong
+     */
+    public static String value(Book book, String column) {
+        switch (column) {
+            case "title": return book.getTitle();
+            case "author": return book.getAuthor();
+            case "isbn": return book.getIsbn();
+            case "genre": return book.getGenre();
+            case "publication_year": return String.valueOf(book.getPublicationYear());
+            case "pages": return String.valueOf(book.getPages());
+            case "description": return book.getDescription();
+            case "rating": return String.valueOf(book.getRating());
+            case "status": return book.getStatus();
+            case "date_added": return book.getDateAdded() != null ? book.getDateAdded().toString() : null;
+            default: return null;
+        }
+    }
+
+    /**
+     * Pesan validasi pertama yang gagal, atau null jika buku valid
+     */
+    public static String validationError(Book book) {
+        if (book.isValid()) {
+            return null;
+        }
+        if (!book.isValidTitle()) {
+            return "Judul wajib diisi";
+        }
+        if (!book.isValidAuthor()) {
+            return "Penulis wajib diisi";
+        }
+        if (!book.isValidIsbn()) {
+            return "ISBN harus 10 atau 13 digit: " + book.getIsbn();
+        }
+        if (!book.isValidYear()) {
+            return "Tahun terbit tidak valid: " + book.getPublicationYear();
+        }
+        if (!book.isValidPages()) {
+            return "Jumlah halaman harus lebih dari 0";
+        }
+        if (!book.isValidRating()) {
+            return "Rating harus 0.0 - 5.0: " + book.getRating();
+        }
+        return "Status tidak dikenal: " + book.getStatus();
+    }
+
+    // Nilai kolom tanpa spasi di tepi; null jika kosong
+    private static String text(Map<String, String> record, String column) {
+        String value = record.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int parseInt(String value, String column) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            // Angka JSON seperti "350.0" tetap diterima
+            return value.contains(".") ? (int) Double.parseDouble(value) : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " bukan angka: " + value);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bookshelf.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pembaca CSV (RFC 4180) yang membaca karakter demi karakter.
+ * Baris pertama adalah header berisi nama kolom; field boleh diberi tanda kutip
+ * dan memuat koma, kutip ganda ("") atau baris baru.
+ */
+public class CsvBookRecordReader implements BookRecordReader {
+
+    private final Reader reader;
+    private final char separator;
+    private String[] header;
+    private int line = 1;
+    private int recordLine = 0;
+    // Satu karakter yang sudah dibaca tetapi belum diproses
+    private int pushback = -2;
+
+    public CsvBookRecordReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvBookRecordReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (header == null) {
+            List<String> names = readRow();
+            if (names == null) {
+                return null;
+            }
+            header = new String[names.size()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = names.get(i).trim().toLowerCase(Locale.ROOT);
+            }
+        }
+
+        List<String> values;
+        do {
+            values = readRow();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty()); // Lewati baris kosong
+
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            record.put(header[i], values.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return recordLine;
+    }
+
+    /**
+     * Membaca satu baris CSV (bisa lebih dari satu baris fisik jika ada field berkutip)
+     * @return Daftar field, atau null jika sudah akhir file
+     */
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Tanda kutip tidak ditutup (mulai baris " + recordLine + ")");
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"'); // Kutip ganda di dalam field
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        unread(nextChar);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        pushback = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
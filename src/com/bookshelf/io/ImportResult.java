@@ -0,0 +1,70 @@
+package com.bookshelf.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hasil impor massal: jumlah baris yang diproses, berhasil, gagal, dan daftar error per baris
+ */
+public class ImportResult {
+
+    // Batas jumlah error yang disimpan agar file yang rusak total tidak menghabiskan memori
+    private static final int MAX_STORED_ERRORS = 1_000;
+
+    private int processedRows = 0;
+    private int importedRows = 0;
+    private int failedRows = 0;
+    private boolean cancelled = false;
+    private final List<String> errors = new ArrayList<>();
+
+    void rowProcessed() {
+        processedRows++;
+    }
+
+    void rowsImported(int count) {
+        importedRows += count;
+    }
+
+    void rowFailed(int line, String message) {
+        failedRows++;
+        if (errors.size() < MAX_STORED_ERRORS) {
+            errors.add("Baris " + line + ": " + message);
+        }
+    }
+
+    void markCancelled() {
+        cancelled = true;
+    }
+
+    public int getProcessedRows() {
+        return processedRows;
+    }
+
+    public int getImportedRows() {
+        return importedRows;
+    }
+
+    public int getFailedRows() {
+        return failedRows;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Pesan error per baris (maksimal 1000 pertama)
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Ringkasan hasil impor dalam bentuk string terformat
+     */
+    public String getSummary() {
+        return String.format("%s%d baris diproses, %d buku diimpor, %d baris gagal",
+            cancelled ? "Impor dibatalkan. " : "", processedRows, importedRows, failedRows);
+    }
+}
@@ -0,0 +1,221 @@
+package com.bookshelf.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pembaca JSON streaming untuk daftar buku. Menerima array objek ([{...}, {...}])
+ * maupun JSON Lines (satu objek per baris). Setiap objek dibaca satu per satu;
+ * nilai string, angka, dan boolean diubah menjadi teks, objek/array bersarang diabaikan.
+ */
+public class JsonBookRecordReader implements BookRecordReader {
+
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine = 0;
+    private int pushback = -2;
+    // null = belum mulai, true = di dalam array utama, false = rangkaian objek (JSON Lines)
+    private Boolean inArray;
+    private boolean finished = false;
+
+    public JsonBookRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int c = skipWhitespace();
+        if (inArray == null) {
+            if (c == '[') {
+                inArray = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    finished = true;
+                    return null;
+                }
+            } else {
+                inArray = false;
+            }
+        } else if (inArray) {
+            // Setelah objek sebelumnya: koma berarti ada objek lagi, ']' berarti selesai
+            if (c == ']') {
+                finished = true;
+                return null;
+            }
+            if (c != ',') {
+                throw error("Diharapkan ',' atau ']'");
+            }
+            c = skipWhitespace();
+        }
+
+        if (c == -1 && !inArray) {
+            finished = true;
+            return null;
+        }
+        if (c != '{') {
+            throw error("Diharapkan objek buku '{'");
+        }
+        recordLine = line;
+        return readObject();
+    }
+
+    @Override
+    public int getLineNumber() {
+        return recordLine;
+    }
+
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> record = new LinkedHashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') {
+            return record;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("Diharapkan nama field");
+            }
+            String name = readString().toLowerCase(Locale.ROOT);
+            if (skipWhitespace() != ':') {
+                throw error("Diharapkan ':'");
+            }
+            String value = readValue(skipWhitespace());
+            if (value != null) {
+                record.put(name, value);
+            }
+            c = skipWhitespace();
+            if (c == '}') {
+                return record;
+            }
+            if (c != ',') {
+                throw error("Diharapkan ',' atau '}'");
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    /**
+     * Membaca satu nilai JSON mulai dari karakter c
+     * @return Nilai dalam bentuk teks, atau null untuk null/objek/array
+     */
+    private String readValue(int c) throws IOException {
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            skipNested();
+            return null;
+        }
+        StringBuilder literal = new StringBuilder();
+        while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = read();
+        }
+        unread(c);
+        String text = literal.toString();
+        if (text.isEmpty()) {
+            throw error("Nilai kosong");
+        }
+        return text.equals("null") ? null : text;
+    }
+
+    private String readString() throws IOException {
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("String tidak ditutup");
+            }
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c == '\\') {
+                int escaped = read();
+                switch (escaped) {
+                    case '"': case '\\': case '/': value.append((char) escaped); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            hex[i] = (char) read();
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Escape unicode tidak valid");
+                        }
+                        break;
+                    default:
+                        throw error("Escape tidak valid");
+                }
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+
+    // Melewati objek/array bersarang beserta isinya
+    private void skipNested() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c == -1) {
+                throw error("Objek/array tidak ditutup");
+            }
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        pushback = c;
+    }
+
+    private IOException error(String message) {
+        return new IOException("JSON tidak valid pada baris " + line + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -2,9 +2,18 @@ package com.bookshelf.main;
 
 // Import class GUI dan manajemen database
 import com.bookshelf.database.DatabaseManager;
+import com.bookshelf.database.EmbeddedStore;
+import com.bookshelf.database.ReadingStatsService;
+import com.bookshelf.database.StorageFactory;
+import com.bookshelf.database.UserRepository;
 import com.bookshelf.gui.LoginFrame;
-import java.sql.Connection;
-import java.sql.SQLException;
+import com.bookshelf.metrics.MetricsRegistry;
+import com.bookshelf.metrics.StartupTimer;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.*;
 
 /**
@@ -13,18 +22,31 @@ import javax.swing.*;
  */
 public class BookshelfApp {
 
+    // Mode startup: "fast" (default, login tampil dulu, database disiapkan di background) atau "classic"
+    private static final String STARTUP_PROPERTY = "bookshelf.startup";
+    private static final String STARTUP_CLASSIC = "classic";
+
+    // Class yang dimuat lebih awal di background agar MainFrame terbuka lebih cepat setelah login
+    private static final String[] PRELOAD_CLASSES = {
+        "com.bookshelf.gui.MainFrame",
+        "com.bookshelf.gui.BookTableModel",
+        "com.bookshelf.gui.AddBookDialog",
+        "com.bookshelf.gui.EditBookDialog",
+        "com.bookshelf.database.BookDAO",
+        "com.bookshelf.database.AsyncBookDAO",
+        "com.bookshelf.search.BookSearchIndex",
+        "com.bookshelf.gui.BookRowSorter",
+        "com.bookshelf.gui.BookFilterBar",
+        "javax.swing.JTable"
+    };
+
     /**
      * Method utama yang dijalankan saat aplikasi mulai.
      * Mengatur tampilan (Look and Feel), membuat koneksi ke database,
      * lalu menampilkan halaman login.
      */
     public static void main(String[] args) {
-        // Mengatur tampilan aplikasi mengikuti sistem operasi
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception e) {
-            System.err.println("Could not set system look and feel: " + e.getMessage());
-        }
+        StartupTimer timer = StartupTimer.getInstance();
 
         // Menyimpan properti nama dan versi aplikasi
         System.setProperty("app.name", "Simple Bookshelf Apps");
@@ -34,31 +56,134 @@ public class BookshelfApp {
         System.out.println("=== Simple Bookshelf Apps v1.0.0 ===");
         System.out.println("Initializing application...");
 
-        try {
-            // Dapatkan instance DatabaseManager (singleton)
-            DatabaseManager dbManager = DatabaseManager.getInstance();
-
-            // Tes koneksi database
-            if (dbManager.testConnection()) {
-                System.out.println("✅ Database connection successful!");
+        if (!STARTUP_CLASSIC.equalsIgnoreCase(System.getProperty(STARTUP_PROPERTY, "fast").trim())) {
+            startFast(timer);
+            return;
+        }
 
-                // Dapatkan koneksi database
-                Connection conn = dbManager.getConnection();
+        // Mengatur tampilan aplikasi mengikuti sistem operasi
+        setLookAndFeel();
+        MetricsRegistry.registerMBean();
 
-                // Jalankan GUI di thread Event Dispatch
+        // Mode embedded (-Dbookshelf.storage=embedded): data disimpan di file lokal, tanpa server MySQL
+        if (StorageFactory.isEmbedded()) {
+            try {
+                EmbeddedStore store = EmbeddedStore.getInstance();
+                System.out.println("✅ Embedded storage ready: " + store.getInfo());
                 SwingUtilities.invokeLater(() -> {
-                    new LoginFrame(conn).setVisible(true);
+                    new LoginFrame(StorageFactory.userRepository()).setVisible(true);
                 });
-            } else {
-                // Jika koneksi database gagal, tampilkan pesan error
-                showErrorDialog("Database Error", "Gagal terhubung ke database.\nSilakan cek konfigurasi database Anda.");
+            } catch (IOException ex) {
+                System.err.println("❌ Embedded storage failed: " + ex.getMessage());
+                showErrorDialog("Storage Error", "Gagal membuka penyimpanan lokal:\n\n" + ex.getMessage());
             }
-        } catch (SQLException ex) {
-            // Tampilkan pesan error jika koneksi gagal
+            return;
+        }
+
+        // Dapatkan instance DatabaseManager (singleton)
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+
+        // Tes koneksi database
+        if (dbManager.testConnection()) {
+            System.out.println("✅ Database connection successful!");
+
+            // Jalankan GUI di thread Event Dispatch
+            SwingUtilities.invokeLater(() -> {
+                new LoginFrame(StorageFactory.userRepository()).setVisible(true);
+            });
+        } else {
+            // Jika koneksi database gagal, tampilkan pesan error
             System.err.println("❌ Database connection failed!");
-            JOptionPane.showMessageDialog(null,
-                "Gagal terhubung ke database:\n\n" + ex.getMessage(),
-                "Database Error", JOptionPane.ERROR_MESSAGE);
+            showErrorDialog("Database Error", "Gagal terhubung ke database.\nSilakan cek konfigurasi database Anda.");
+        }
+    }
+
+    /**
+     * Startup cepat: penyimpanan disiapkan dan class GUI dimuat secara paralel di background,
+     * sementara halaman login langsung ditampilkan. Rincian waktu tiap fase dicetak setelah selesai.
+     */
+    private static void startFast(StartupTimer timer) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService startup = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "bookshelf-startup-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        CompletableFuture<UserRepository> storage = StorageFactory.openAsync(startup);
+        CompletableFuture<Void> preload = CompletableFuture.runAsync(() -> {
+            StartupTimer.Phase preloadPhase = timer.begin("preload: gui classes");
+            try {
+                preloadClasses();
+            } finally {
+                preloadPhase.close();
+            }
+            // Platform MBeanServer cukup berat untuk dibuat, jadi didaftarkan di luar jalur login
+            StartupTimer.Phase registerMetrics = timer.begin("jmx: register metrics");
+            try {
+                MetricsRegistry.registerMBean();
+            } finally {
+                registerMetrics.close();
+            }
+        }, startup);
+
+        StartupTimer.Phase lookAndFeel = timer.begin("ui: look and feel");
+        try {
+            setLookAndFeel();
+        } finally {
+            lookAndFeel.close();
+        }
+
+        CompletableFuture<Void> loginShown = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            StartupTimer.Phase createLogin = timer.begin("ui: create login window");
+            try {
+                new LoginFrame(storage).setVisible(true);
+            } finally {
+                createLogin.close();
+            }
+            timer.mark("ui: login window visible");
+            loginShown.complete(null);
+        });
+
+        CompletableFuture<UserRepository> announced = storage.whenComplete((repository, error) -> {
+            if (error != null) {
+                System.err.println("❌ Storage initialization failed: " + error.getMessage());
+                showErrorDialog("Database Error", "Gagal terhubung ke database.\nSilakan cek konfigurasi database Anda.");
+            } else {
+                timer.mark("storage ready");
+                System.out.println("✅ Storage ready!");
+            }
+        });
+
+        CompletableFuture.allOf(announced, loginShown, preload).whenComplete((ignored, error) -> {
+            startup.shutdown();
+            System.out.println(timer.getReport());
+        });
+    }
+
+    /**
+     * Memuat class yang dipakai setelah login tanpa menjalankan static initializer-nya
+     */
+    private static void preloadClasses() {
+        ClassLoader loader = BookshelfApp.class.getClassLoader();
+        for (String name : PRELOAD_CLASSES) {
+            try {
+                Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                System.err.println("Preload gagal: " + name);
+            }
+        }
+    }
+
+    /**
+     * Mengatur tampilan aplikasi mengikuti sistem operasi
+     */
+    private static void setLookAndFeel() {
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            System.err.println("Could not set system look and feel: " + e.getMessage());
         }
     }
 
@@ -94,7 +219,7 @@ public class BookshelfApp {
             • Search and filter books
             • Track reading status
             • Rate your books
-            • MySQL database storage
+            • MySQL or embedded local-file storage
 
             Developed with Java Swing
 
@@ -113,8 +238,6 @@ public class BookshelfApp {
      * Menampilkan informasi sistem dan aplikasi (Java, OS, memori, database)
      */
     public static void showSystemInfo() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-
         String systemInfo = String.format("""
             System Information
 
@@ -131,6 +254,12 @@ public class BookshelfApp {
             Free Memory: %.2f MB
             Used Memory: %.2f MB
 
+            %s
+
+            %s
+
+            %s
+
             %s
             """,
             System.getProperty("java.version"),
@@ -138,11 +267,14 @@ public class BookshelfApp {
             System.getProperty("os.name"),
             System.getProperty("os.version"),
             System.getProperty("os.arch"),
-            dbManager.getDatabaseInfo(),
+            StorageFactory.getInfo(),
             Runtime.getRuntime().totalMemory() / (1024.0 * 1024.0),
             Runtime.getRuntime().freeMemory() / (1024.0 * 1024.0),
             (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024.0 * 1024.0),
-            dbManager.getDatabaseStats()
+            StorageFactory.getStats(),
+            ReadingStatsService.getInstance().getReport(),
+            MetricsRegistry.getInstance().getReport(),
+            StartupTimer.getInstance().getReport()
         );
 
         JTextArea textArea = new JTextArea(systemInfo);
@@ -167,7 +299,7 @@ public class BookshelfApp {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("Shutting down application...");
             try {
-                DatabaseManager.getInstance().closeConnection();
+                StorageFactory.shutdown();
                 System.out.println("✅ Application shutdown complete!");
             } catch (Exception e) {
                 System.err.println("Error during shutdown: " + e.getMessage());
@@ -0,0 +1,31 @@
+package com.bookshelf.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Antarmuka JMX untuk MetricsRegistry (ObjectName "com.bookshelf:type=Metrics"),
+ * bisa dibuka dengan JConsole atau VisualVM
+ */
+public interface MetricsMXBean {
+
+    List<OperationSnapshot> getOperations();
+
+    /**
+     * Nilai gauge saat ini (misal jumlah statement JDBC yang masih terbuka)
+     */
+    Map<String, Long> getGauges();
+
+    /**
+     * Query/operasi lambat terakhir (paling baru di akhir)
+     */
+    List<String> getSlowQueries();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    String getReport();
+
+    void reset();
+}
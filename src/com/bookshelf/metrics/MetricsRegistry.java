@@ -0,0 +1,287 @@
+package com.bookshelf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrik runtime aplikasi: latency (p50/p99), jumlah panggilan, baris, dan error per operasi,
+ * ditambah log operasi lambat di atas ambang "bookshelf.metrics.slowQueryMillis" (default 200 ms).
+ * Operasi repository diukur lewat instrument(), query SQL oleh StatementCache, dan koneksi oleh DatabaseManager.
+ */
+public final class MetricsRegistry implements MetricsMXBean {
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    public static final String OBJECT_NAME = "com.bookshelf:type=Metrics";
+    private static final int SLOW_LOG_SIZE = 50;
+    private static final int NAME_WIDTH = 48;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Deque<String> slowLog = new ArrayDeque<>();
+    private volatile long slowThresholdNanos = Long.getLong("bookshelf.metrics.slowQueryMillis", 200L) * 1_000_000L;
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Mendaftarkan registry ke platform MBeanServer (cukup sekali saat startup)
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Gagal mendaftarkan MBean metrik: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mulai mengukur satu operasi; tutup (try-with-resources) saat selesai
+     */
+    public Sample start(String name) {
+        return new Sample(name);
+    }
+
+    /**
+     * Mencatat satu panggilan operasi
+     * @param detail Keterangan untuk log operasi lambat (misal teks SQL), boleh null
+     */
+    public void record(String name, long elapsedNanos, long rows, boolean error, String detail) {
+        Operation operation = operations.computeIfAbsent(name, key -> new Operation());
+        operation.latency.record(elapsedNanos);
+        operation.rows.add(rows);
+        if (error) {
+            operation.errors.increment();
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            operation.slowCalls.increment();
+            logSlow(name, elapsedNanos, detail);
+        }
+    }
+
+    /**
+     * Mendaftarkan nilai yang dibaca saat laporan dibuat (nama yang sama menggantikan gauge lama)
+     */
+    public void registerGauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Membungkus implementasi interface dengan proxy yang mengukur setiap method
+     * sebagai operasi "prefix.namaMethod"
+     * @param rowCounter Menghitung jumlah baris dari hasil method (kembalikan 0 jika tidak relevan)
+     */
+    public <T> T instrument(Class<T> type, T target, String prefix, ToLongFunction<Object> rowCounter) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return prefix + "[" + target + "]";
+                }
+            }
+            String name = prefix + "." + method.getName();
+            long start = System.nanoTime();
+            boolean error = false;
+            Object result = null;
+            try {
+                result = method.invoke(target, args);
+                return result;
+            } catch (InvocationTargetException e) {
+                error = true;
+                throw e.getCause();
+            } finally {
+                record(name, System.nanoTime() - start, result != null ? rowCounter.applyAsLong(result) : 0, error, null);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * Penghitung baris standar: ukuran Collection atau panjang array
+     */
+    public static long countRows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof int[]) {
+            return ((int[]) result).length;
+        } else if (result instanceof Object[]) {
+            return ((Object[]) result).length;
+        }
+        return 0;
+    }
+
+    private void logSlow(String name, long elapsedNanos, String detail) {
+        String entry = String.format("%s %8.1f ms  %s%s", LocalTime.now().format(TIME_FORMAT),
+                elapsedNanos / 1e6, name, detail != null ? "  " + detail : "");
+        System.err.println("[slow] " + entry);
+        synchronized (slowLog) {
+            if (slowLog.size() == SLOW_LOG_SIZE) {
+                slowLog.removeFirst();
+            }
+            slowLog.addLast(entry);
+        }
+    }
+
+    // ===== MetricsMXBean =====
+
+    @Override
+    public List<OperationSnapshot> getOperations() {
+        List<OperationSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            snapshots.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        snapshots.sort(Comparator.comparing(OperationSnapshot::getName));
+        return snapshots;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            values.put(gauge.getKey(), gauge.getValue().getAsLong());
+        }
+        return values;
+    }
+
+    @Override
+    public List<String> getSlowQueries() {
+        synchronized (slowLog) {
+            return new ArrayList<>(slowLog);
+        }
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowThresholdNanos / 1_000_000L;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowThresholdNanos = Math.max(0, millis) * 1_000_000L;
+    }
+
+    /**
+     * Tabel metrik per operasi beserta operasi lambat terakhir, untuk Help > System Info
+     */
+    @Override
+    public String getReport() {
+        List<OperationSnapshot> snapshots = getOperations();
+        StringBuilder report = new StringBuilder("Metrik Operasi (ms):\n");
+        if (snapshots.isEmpty()) {
+            report.append("Belum ada operasi yang tercatat\n");
+        } else {
+            report.append(String.format("%-" + NAME_WIDTH + "s %7s %5s %8s %8s %8s %8s%n",
+                    "Operasi", "Calls", "Err", "Rows", "p50", "p99", "Max"));
+        }
+        for (OperationSnapshot op : snapshots) {
+            String name = op.getName().length() > NAME_WIDTH
+                    ? op.getName().substring(0, NAME_WIDTH - 3) + "..." : op.getName();
+            report.append(String.format("%-" + NAME_WIDTH + "s %7d %5d %8d %8.2f %8.2f %8.2f%n",
+                    name, op.getCalls(), op.getErrors(), op.getRows(),
+                    op.getP50Millis(), op.getP99Millis(), op.getMaxMillis()));
+        }
+        Map<String, Long> gaugeValues = getGauges();
+        if (!gaugeValues.isEmpty()) {
+            report.append("\n");
+            for (Map.Entry<String, Long> gauge : gaugeValues.entrySet()) {
+                report.append(String.format("%-" + NAME_WIDTH + "s %7d%n", gauge.getKey(), gauge.getValue()));
+            }
+        }
+        List<String> slow = getSlowQueries();
+        report.append("\nOperasi lambat (>= ").append(getSlowQueryThresholdMillis()).append(" ms): ")
+              .append(slow.isEmpty() ? "tidak ada" : "").append("\n");
+        for (String entry : slow.subList(Math.max(0, slow.size() - 10), slow.size())) {
+            report.append("- ").append(entry).append("\n");
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        operations.clear();
+        synchronized (slowLog) {
+            slowLog.clear();
+        }
+    }
+
+    /**
+     * Pengukuran satu panggilan yang sedang berjalan
+     */
+    public final class Sample implements AutoCloseable {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private long rows = 0;
+        private boolean error = false;
+        private boolean closed = false;
+
+        private Sample(String name) {
+            this.name = name;
+        }
+
+        public Sample rows(long rows) {
+            this.rows = rows;
+            return this;
+        }
+
+        // Tandai panggilan gagal; tetap tutup Sample seperti biasa
+        public Sample error() {
+            this.error = true;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                record(name, System.nanoTime() - startNanos, rows, error, null);
+            }
+        }
+    }
+
+    /**
+     * Counter untuk satu nama operasi
+     */
+    private static final class Operation {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        OperationSnapshot snapshot(String name) {
+            return new OperationSnapshot(name, latency.getCount(), errors.sum(), rows.sum(), slowCalls.sum(),
+                    latency.getMeanMillis(), latency.percentileMillis(0.50), latency.percentileMillis(0.99),
+                    latency.getMaxMillis());
+        }
+    }
+}
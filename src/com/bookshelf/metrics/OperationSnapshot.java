@@ -0,0 +1,53 @@
+package com.bookshelf.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Ringkasan metrik satu operasi (immutable), juga dipakai sebagai CompositeData di JMX
+ */
+public class OperationSnapshot {
+
+    private final String name;
+    private final long calls;
+    private final long errors;
+    private final long rows;
+    private final long slowCalls;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    @ConstructorProperties({"name", "calls", "errors", "rows", "slowCalls",
+                            "meanMillis", "p50Millis", "p99Millis", "maxMillis"})
+    public OperationSnapshot(String name, long calls, long errors, long rows, long slowCalls,
+                             double meanMillis, double p50Millis, double p99Millis, double maxMillis) {
+        this.name = name;
+        this.calls = calls;
+        this.errors = errors;
+        this.rows = rows;
+        this.slowCalls = slowCalls;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getName() { return name; }
+
+    public long getCalls() { return calls; }
+
+    public long getErrors() { return errors; }
+
+    // Total baris yang dikembalikan (ukuran List/array hasil), 0 jika operasi tidak mengembalikan baris
+    public long getRows() { return rows; }
+
+    public long getSlowCalls() { return slowCalls; }
+
+    public double getMeanMillis() { return meanMillis; }
+
+    public double getP50Millis() { return p50Millis; }
+
+    public double getP99Millis() { return p99Millis; }
+
+    public double getMaxMillis() { return maxMillis; }
+}
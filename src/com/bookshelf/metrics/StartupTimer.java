@@ -0,0 +1,103 @@
+package com.bookshelf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Mencatat durasi setiap fase startup (termasuk fase yang berjalan paralel di thread lain).
+ * Waktu dihitung relatif terhadap saat JVM mulai, sehingga waktu boot JVM ikut terlihat.
+ */
+public final class StartupTimer {
+
+    private static final StartupTimer INSTANCE = new StartupTimer();
+
+    // Selisih antara waktu mulai JVM dan titik nol System.nanoTime()
+    private final long originNanos;
+    private final List<Phase> phases = new ArrayList<>();
+
+    private StartupTimer() {
+        long jvmUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        this.originNanos = System.nanoTime() - jvmUptimeMillis * 1_000_000L;
+        phases.add(new Phase("jvm-start-to-main", 0, Thread.currentThread().getName()).end(System.nanoTime()));
+    }
+
+    public static StartupTimer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Memulai fase baru; tutup di blok finally saat fase selesai
+     */
+    public Phase begin(String name) {
+        Phase phase = new Phase(name, System.nanoTime() - originNanos, Thread.currentThread().getName());
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        return phase;
+    }
+
+    /**
+     * Mencatat titik waktu penting (fase tanpa durasi), misal "login window visible"
+     */
+    public void mark(String name) {
+        begin(name).close();
+    }
+
+    /**
+     * Laporan fase startup diurutkan berdasarkan waktu mulai
+     */
+    public String getReport() {
+        List<Phase> snapshot;
+        synchronized (phases) {
+            snapshot = new ArrayList<>(phases);
+        }
+        snapshot.sort(Comparator.comparingLong(phase -> phase.startNanos));
+
+        StringBuilder report = new StringBuilder("Startup Timing (ms sejak JVM mulai):\n");
+        report.append(String.format("%-28s %9s %9s  %s%n", "Fase", "Mulai", "Durasi", "Thread"));
+        for (Phase phase : snapshot) {
+            String duration = phase.isRunning() ? "berjalan" : String.format("%.1f", phase.durationNanos() / 1e6);
+            report.append(String.format("%-28s %9.1f %9s  %s%n",
+                    phase.name, phase.startNanos / 1e6, duration, phase.thread));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Satu fase startup
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final long startNanos;
+        private final String thread;
+        private volatile long endNanos = -1;
+
+        private Phase(String name, long startNanos, String thread) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.thread = thread;
+        }
+
+        private Phase end(long nanoTime) {
+            endNanos = nanoTime - originNanos;
+            return this;
+        }
+
+        boolean isRunning() {
+            return endNanos < 0;
+        }
+
+        long durationNanos() {
+            return endNanos - startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (isRunning()) {
+                end(System.nanoTime());
+            }
+        }
+    }
+}
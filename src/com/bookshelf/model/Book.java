@@ -67,6 +67,13 @@ public class Book {
         this.userId = userId;
     }
     
+    // ===== Konstruktor salinan (untuk cache agar objek di cache tidak ikut berubah) =====
+    public Book(Book other) {
+        this(other.id, other.title, other.author, other.isbn, other.genre,
+             other.publicationYear, other.pages, other.description, other.rating,
+             other.status, other.dateAdded, other.dateUpdated, other.userId);
+    }
+    
     // ===== Getter dan Setter untuk setiap properti =====
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -134,6 +141,9 @@ public class Book {
     public LocalDateTime getDateUpdated() { return dateUpdated; }
     public void setDateUpdated(LocalDateTime dateUpdated) { this.dateUpdated = dateUpdated; }
     
+    public int getUserId() { return userId; }
+    public void setUserId(int userId) { this.userId = userId; }
+    
     // ===== Utility Methods =====
     // Update waktu terakhir diubah
     private void updateTimestamp() {
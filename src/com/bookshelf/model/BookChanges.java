@@ -0,0 +1,41 @@
+package com.bookshelf.model;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Perubahan rak milik user sejak watermark tertentu: buku yang ditambah atau diubah (upsert)
+ * dan ID buku yang dihapus (tombstone), beserta watermark untuk permintaan berikutnya
+ */
+public class BookChanges {
+
+    private final List<Book> upserted;
+    private final List<Integer> deletedIds;
+    private final LocalDateTime watermark;
+    private final boolean fullSnapshot;
+
+    public BookChanges(List<Book> upserted, List<Integer> deletedIds, LocalDateTime watermark, boolean fullSnapshot) {
+        this.upserted = Collections.unmodifiableList(upserted);
+        this.deletedIds = Collections.unmodifiableList(deletedIds);
+        this.watermark = watermark;
+        this.fullSnapshot = fullSnapshot;
+    }
+
+    // Buku baru atau yang berubah (tanpa description, lihat BookSummary)
+    public List<Book> getUpserted() { return upserted; }
+
+    // ID buku yang dihapus sejak watermark sebelumnya
+    public List<Integer> getDeletedIds() { return deletedIds; }
+
+    // Berikan ke getChangesSince berikutnya (jam saat pembacaan dimulai, dikurangi jendela aman)
+    public LocalDateTime getWatermark() { return watermark; }
+
+    // true jika berisi seluruh rak (tanpa watermark, atau watermark lebih tua dari retensi tombstone):
+    // ganti data lama, jangan digabung
+    public boolean isFullSnapshot() { return fullSnapshot; }
+
+    public boolean isEmpty() {
+        return upserted.isEmpty() && deletedIds.isEmpty();
+    }
+}
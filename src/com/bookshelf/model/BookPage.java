@@ -0,0 +1,35 @@
+package com.bookshelf.model;
+
+import java.util.List;
+
+/**
+ * Satu halaman hasil paginasi keyset (seek) beserta token untuk halaman berikutnya
+ */
+public class BookPage {
+
+    /**
+     * Urutan yang didukung oleh paginasi keyset.
+     * Setiap urutan ditutup dengan kolom id agar posisi halaman selalu unik.
+     */
+    public enum Sort {
+        DATE_ADDED,  // date_added DESC, id DESC (terbaru lebih dulu)
+        TITLE,       // title ASC, id ASC
+        RATING       // rating DESC, id DESC
+    }
+
+    private final List<Book> books;
+    private final String nextCursor;
+
+    public BookPage(List<Book> books, String nextCursor) {
+        this.books = books;
+        this.nextCursor = nextCursor;
+    }
+
+    // Buku pada halaman ini
+    public List<Book> getBooks() { return books; }
+
+    // Token opaque untuk halaman berikutnya, null jika sudah halaman terakhir
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() { return nextCursor != null; }
+}
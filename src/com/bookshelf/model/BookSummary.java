@@ -0,0 +1,19 @@
+package com.bookshelf.model;
+
+/**
+ * Proyeksi ringan dari Book untuk daftar/tabel: semua kolom kecuali description.
+ * Deskripsi tidak dimuat (selalu null); ambil Book lengkap lewat getBookById sebelum diedit.
+ */
+public class BookSummary extends Book {
+
+    public BookSummary() {
+        super();
+    }
+
+    // ===== Salinan tanpa deskripsi (tidak mengubah dateUpdated seperti setDescription) =====
+    public BookSummary(Book other) {
+        super(other.getId(), other.getTitle(), other.getAuthor(), other.getIsbn(), other.getGenre(),
+              other.getPublicationYear(), other.getPages(), null, other.getRating(),
+              other.getStatus(), other.getDateAdded(), other.getDateUpdated(), other.getUserId());
+    }
+}
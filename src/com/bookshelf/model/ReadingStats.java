@@ -0,0 +1,73 @@
+package com.bookshelf.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Snapshot statistik membaca milik satu user (immutable).
+ * Dibuat oleh ReadingStatsService dan aman dibaca dari thread mana pun.
+ */
+public class ReadingStats {
+
+    private final int userId;
+    private final int total;
+    private final Map<String, Integer> countByStatus;
+    private final double averageRating;
+    private final long totalPages;
+    // Genre terbanyak lebih dulu, maksimal beberapa genre teratas saja
+    private final Map<String, Integer> topGenres;
+    private final long computedAtMillis;
+
+    public ReadingStats(int userId, int total, Map<String, Integer> countByStatus, double averageRating,
+                        long totalPages, Map<String, Integer> topGenres) {
+        this.userId = userId;
+        this.total = total;
+        this.countByStatus = Collections.unmodifiableMap(new LinkedHashMap<>(countByStatus));
+        this.averageRating = averageRating;
+        this.totalPages = totalPages;
+        this.topGenres = Collections.unmodifiableMap(new LinkedHashMap<>(topGenres));
+        this.computedAtMillis = System.currentTimeMillis();
+    }
+
+    public int getUserId() { return userId; }
+
+    public int getTotal() { return total; }
+
+    public int getCount(String status) { return countByStatus.getOrDefault(status, 0); }
+
+    // Rata-rata dari buku yang sudah diberi rating (rating > 0), 0 jika belum ada
+    public double getAverageRating() { return averageRating; }
+
+    public long getTotalPages() { return totalPages; }
+
+    public Map<String, Integer> getTopGenres() { return topGenres; }
+
+    public long getComputedAtMillis() { return computedAtMillis; }
+
+    /**
+     * Statistik dalam bentuk teks terformat (untuk dialog dan console)
+     */
+    public String format() {
+        StringBuilder stats = new StringBuilder();
+        stats.append("📚 Statistik Membaca:\n");
+        stats.append("Total Buku: ").append(total).append("\n");
+        stats.append("Sudah Dibaca: ").append(getCount(Book.STATUS_READ)).append("\n");
+        stats.append("Sedang Dibaca: ").append(getCount(Book.STATUS_READING)).append("\n");
+        stats.append("Ingin Dibaca: ").append(getCount(Book.STATUS_WANT_TO_READ)).append("\n");
+        stats.append("Rating Rata-rata: ").append(String.format("%.1f", averageRating)).append("/5.0\n");
+        stats.append("Total Halaman: ").append(String.format("%,d", totalPages)).append("\n");
+
+        stats.append("\n📊 Genre Teratas:\n");
+        for (Map.Entry<String, Integer> genre : topGenres.entrySet()) {
+            stats.append("- ").append(genre.getKey())
+                 .append(": ").append(genre.getValue()).append(" buku\n");
+        }
+        return stats.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -1,12 +1,17 @@
 package com.bookshelf.model;
 
+import java.time.LocalDateTime;
+
 /**
  * Kelas User berfungsi sebagai model data untuk pengguna.
- * Menyimpan data dasar berupa username dan password.
+ * Menyimpan data dasar berupa username dan password, serta ID dan waktu daftar
+ * untuk user yang dibaca dari penyimpanan (hasil autentikasi).
  */
 public class User {
+    private int id;
     private String username;
     private String password;
+    private LocalDateTime createdAt;
 
     /**
      * Konstruktor untuk membuat objek User baru.
@@ -18,6 +23,23 @@ public class User {
         this.password = password;
     }
 
+    /**
+     * Konstruktor untuk profil user yang sudah tersimpan (password tidak ikut dibawa).
+     * @param id ID user di database
+     * @param username Nama pengguna
+     * @param createdAt Waktu daftar, boleh null jika tidak diketahui
+     */
+    public User(int id, String username, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.createdAt = createdAt;
+    }
+
+    // Getter: Mengambil ID user (0 jika belum tersimpan)
+    public int getId() {
+        return id;
+    }
+
     // Getter: Mengambil username
     public String getUsername() {
         return username;
@@ -28,6 +50,16 @@ public class User {
         return password;
     }
 
+    // Getter: Mengambil waktu daftar
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // Setter: Mengubah ID user
+    public void setId(int id) {
+        this.id = id;
+    }
+
     // Setter: Mengubah username
     public void setUsername(String username) {
         this.username = username;
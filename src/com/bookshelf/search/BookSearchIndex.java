@@ -0,0 +1,216 @@
+package com.bookshelf.search;
+
+import com.bookshelf.model.Book;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index di memori untuk rak buku milik user yang sedang login.
+ * Judul, penulis, ISBN, dan genre dipecah menjadi token huruf kecil (tanpa aksen);
+ * setiap token menunjuk ke ID buku yang memuatnya. Query dicocokkan sebagai awalan token,
+ * sehingga pencarian saat mengetik cukup memakai beberapa lookup TreeMap tanpa query database.
+ * Kata pada judul dan penulis juga masuk FuzzyTermIndex untuk pencarian fuzzy (toleran salah ketik).
+ */
+public class BookSearchIndex {
+
+    // token -> ID buku yang mengandung token tersebut (TreeMap agar bisa mencari berdasarkan awalan)
+    private final TreeMap<String, Set<Integer>> postings = new TreeMap<>();
+    // ID buku -> data buku dan token yang diindeks (untuk menghapus posting saat update/hapus)
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    // Kata judul/penulis untuk pencarian fuzzy
+    private final FuzzyTermIndex fuzzyTerms = new FuzzyTermIndex();
+    // Urutan tampilan buku, sama dengan urutan daftar rak
+    private long nextSequence = 0;
+
+    /**
+     * Membangun ulang index dari seluruh buku milik user
+     */
+    public synchronized void rebuild(List<Book> books) {
+        postings.clear();
+        entries.clear();
+        fuzzyTerms.clear();
+        nextSequence = 0;
+        for (Book book : books) {
+            addInternal(book, nextSequence++);
+        }
+    }
+
+    /**
+     * Menambah atau memperbarui satu buku di index
+     */
+    public synchronized void addOrUpdate(Book book) {
+        Entry existing = entries.get(book.getId());
+        long sequence = existing != null ? existing.sequence : nextSequence++;
+        if (existing != null) {
+            removeInternal(book.getId());
+        }
+        addInternal(book, sequence);
+    }
+
+    /**
+     * Menghapus buku dari index
+     */
+    public synchronized void remove(int bookId) {
+        removeInternal(bookId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Mencari buku yang memuat semua kata pada query (setiap kata dicocokkan sebagai awalan token)
+     * @param query Teks yang diketik pengguna
+     * @return Salinan buku yang cocok sesuai urutan rak; semua buku jika query kosong
+     */
+    public synchronized List<Book> search(String query) {
+        List<String> terms = tokenize(query);
+        Set<Integer> result = null;
+
+        for (String term : new LinkedHashSet<>(terms)) {
+            Set<Integer> matches = new HashSet<>();
+            // Semua token yang diawali term berada dalam rentang [term, term + Character.MAX_VALUE)
+            for (Set<Integer> ids : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                if (result == null) {
+                    matches.addAll(ids);
+                } else {
+                    // Cukup simpan ID yang juga cocok dengan kata sebelumnya
+                    for (Integer id : ids) {
+                        if (result.contains(id)) {
+                            matches.add(id);
+                        }
+                    }
+                }
+            }
+            result = matches;
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+
+        Collection<Integer> ids = result != null ? result : entries.keySet();
+        List<Entry> found = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            found.add(entries.get(id));
+        }
+        found.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+
+        List<Book> books = new ArrayList<>(found.size());
+        for (Entry entry : found) {
+            books.add(new Book(entry.book));
+        }
+        return books;
+    }
+
+    /**
+     * Pencarian fuzzy: setiap kata query boleh salah ketik (1 huruf untuk kata pendek, 2 untuk kata panjang)
+     * dan dicocokkan dengan kata pada judul atau penulis. Semua kata query harus cocok.
+     * @param query Teks yang diketik pengguna
+     * @return Salinan buku yang cocok, paling mirip lebih dulu
+     */
+    public synchronized List<Book> fuzzySearch(String query) {
+        Map<Integer, Double> finalScores = fuzzyTerms.scores(query);
+        List<Book> books = new ArrayList<>();
+        List<Entry> found = new ArrayList<>();
+        for (Integer id : finalScores.keySet()) {
+            found.add(entries.get(id));
+        }
+        found.sort((a, b) -> {
+            int byScore = Double.compare(finalScores.get(b.book.getId()), finalScores.get(a.book.getId()));
+            return byScore != 0 ? byScore : Long.compare(a.sequence, b.sequence);
+        });
+        for (Entry entry : found) {
+            books.add(new Book(entry.book));
+        }
+        return books;
+    }
+
+    private void addInternal(Book book, long sequence) {
+        Entry entry = new Entry(new Book(book), tokensOf(book), sequence);
+        entries.put(book.getId(), entry);
+        for (String token : entry.tokens) {
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(book.getId());
+        }
+        fuzzyTerms.addOrUpdate(book.getId(), book.getTitle(), book.getAuthor());
+    }
+
+    private void removeInternal(int bookId) {
+        Entry entry = entries.remove(bookId);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens) {
+            Set<Integer> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(bookId);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        fuzzyTerms.remove(bookId);
+    }
+
+    /**
+     * Token yang diindeks untuk satu buku: judul, penulis, ISBN, dan genre
+     */
+    private static Set<String> tokensOf(Book book) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(book.getTitle()));
+        tokens.addAll(tokenize(book.getAuthor()));
+        tokens.addAll(tokenize(book.getGenre()));
+        String isbn = book.getIsbn();
+        if (isbn != null && !isbn.isEmpty()) {
+            tokens.addAll(tokenize(isbn));
+            // ISBN juga diindeks tanpa tanda hubung agar "978013" cocok dengan "978-0132350884"
+            String compact = isbn.replaceAll("[^0-9Xx]", "").toLowerCase(Locale.ROOT);
+            if (!compact.isEmpty()) {
+                tokens.add(compact);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Memecah teks menjadi token huruf kecil tanpa aksen (case-folding)
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Data satu buku di dalam index
+     */
+    private static class Entry {
+        final Book book;
+        final Set<String> tokens;
+        final long sequence;
+
+        Entry(Book book, Set<String> tokens, long sequence) {
+            this.book = book;
+            this.tokens = tokens;
+            this.sequence = sequence;
+        }
+    }
+}
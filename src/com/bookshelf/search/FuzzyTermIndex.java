@@ -0,0 +1,131 @@
+package com.bookshelf.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index kata judul dan penulis untuk pencarian fuzzy (toleran salah ketik) yang hanya menyimpan ID buku.
+ * Dipakai BookSearchIndex untuk rak di memori, dan langsung oleh MainFrame untuk rak lazy yang sangat besar:
+ * index dibangun dari proyeksi (id, judul, penulis) tanpa memuat data buku lainnya.
+ */
+public class FuzzyTermIndex {
+
+    // Kata judul/penulis -> ID buku, beserta index trigram untuk kata-kata tersebut
+    private final Map<String, Set<Integer>> terms = new HashMap<>();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    // ID buku -> kata yang diindeks (untuk menghapus posting saat update/hapus)
+    private final Map<Integer, Set<String>> termsById = new HashMap<>();
+
+    /**
+     * Menambah atau memperbarui kata judul dan penulis satu buku
+     */
+    public synchronized void addOrUpdate(int bookId, String title, String author) {
+        removeInternal(bookId);
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(BookSearchIndex.tokenize(title));
+        tokens.addAll(BookSearchIndex.tokenize(author));
+        termsById.put(bookId, tokens);
+        for (String token : tokens) {
+            terms.computeIfAbsent(token, t -> {
+                trigramIndex.addTerm(t);
+                return new HashSet<>();
+            }).add(bookId);
+        }
+    }
+
+    public synchronized void remove(int bookId) {
+        removeInternal(bookId);
+    }
+
+    public synchronized void clear() {
+        terms.clear();
+        trigramIndex.clear();
+        termsById.clear();
+    }
+
+    public synchronized int size() {
+        return termsById.size();
+    }
+
+    /**
+     * Setiap kata query boleh salah ketik (1 huruf untuk kata pendek, 2 untuk kata panjang)
+     * dan dicocokkan dengan kata pada judul atau penulis. Semua kata query harus cocok.
+     * @param query Teks yang diketik pengguna
+     * @return ID buku yang cocok -> skor kemiripan (lebih besar lebih mirip); kosong jika query kosong
+     */
+    public synchronized Map<Integer, Double> scores(String query) {
+        Map<Integer, Double> scores = null;
+
+        for (String word : new LinkedHashSet<>(BookSearchIndex.tokenize(query))) {
+            Map<Integer, Double> wordScores = new HashMap<>();
+            for (Map.Entry<String, Integer> match : trigramIndex.findSimilar(word, maxTypos(word)).entrySet()) {
+                String term = match.getKey();
+                double similarity = 1.0 - (double) match.getValue() / Math.max(word.length(), term.length());
+                for (Integer id : terms.get(term)) {
+                    wordScores.merge(id, similarity, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                // Hanya buku yang juga cocok dengan kata sebelumnya yang dipertahankan
+                Map<Integer, Double> combined = new HashMap<>();
+                for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                    Double wordScore = wordScores.get(score.getKey());
+                    if (wordScore != null) {
+                        combined.put(score.getKey(), score.getValue() + wordScore);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : new HashMap<>();
+    }
+
+    /**
+     * ID buku yang cocok secara fuzzy, paling mirip lebih dulu (skor sama: ID lebih kecil lebih dulu)
+     * @param limit Jumlah ID maksimum
+     */
+    public List<Integer> search(String query, int limit) {
+        Map<Integer, Double> scores = scores(query);
+        List<Integer> ids = new ArrayList<>(scores.keySet());
+        ids.sort((a, b) -> {
+            int byScore = Double.compare(scores.get(b), scores.get(a));
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+        return ids.size() > limit ? new ArrayList<>(ids.subList(0, limit)) : ids;
+    }
+
+    // Jumlah salah ketik yang ditoleransi berdasarkan panjang kata
+    private static int maxTypos(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    private void removeInternal(int bookId) {
+        Set<String> tokens = termsById.remove(bookId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<Integer> ids = terms.get(token);
+            if (ids != null) {
+                ids.remove(bookId);
+                if (ids.isEmpty()) {
+                    terms.remove(token);
+                    trigramIndex.removeTerm(token);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bookshelf.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index trigram untuk kosakata (kata-kata unik) judul dan penulis.
+ * Dipakai untuk pencarian fuzzy: kandidat kata dicari lewat trigram yang sama,
+ * lalu diverifikasi dengan edit distance (Levenshtein) yang dibatasi,
+ * sehingga tidak perlu membandingkan query dengan setiap kata di rak.
+ */
+class TrigramIndex {
+
+    // trigram -> kata yang memuat trigram tersebut
+    private final Map<String, Set<String>> trigramToTerms = new HashMap<>();
+    // kata -> jumlah trigram kata tersebut (dipakai untuk batas minimum trigram yang sama)
+    private final Map<String, Integer> termTrigramCount = new HashMap<>();
+
+    void addTerm(String term) {
+        if (termTrigramCount.containsKey(term)) {
+            return;
+        }
+        Set<String> grams = trigrams(term);
+        termTrigramCount.put(term, grams.size());
+        for (String gram : grams) {
+            trigramToTerms.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+    }
+
+    void removeTerm(String term) {
+        if (termTrigramCount.remove(term) == null) {
+            return;
+        }
+        for (String gram : trigrams(term)) {
+            Set<String> terms = trigramToTerms.get(gram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    trigramToTerms.remove(gram);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        trigramToTerms.clear();
+        termTrigramCount.clear();
+    }
+
+    /**
+     * Mencari kata di kosakata yang jaraknya paling banyak maxDistance dari word
+     * @param word Kata query (sudah di-tokenize)
+     * @param maxDistance Edit distance maksimum
+     * @return Kata yang cocok -> edit distance
+     */
+    Map<String, Integer> findSimilar(String word, int maxDistance) {
+        Set<String> grams = trigrams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> terms = trigramToTerms.get(gram);
+            if (terms != null) {
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<String, Integer> matches = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            if (Math.abs(term.length() - word.length()) > maxDistance) {
+                continue;
+            }
+            // Lemma q-gram: setiap operasi edit merusak paling banyak 3 trigram
+            int required = Math.max(grams.size(), termTrigramCount.get(term)) - 3 * maxDistance;
+            if (candidate.getValue() < required) {
+                continue;
+            }
+            int distance = boundedDistance(word, term, maxDistance);
+            if (distance <= maxDistance) {
+                matches.put(term, distance);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Trigram dari kata dengan penanda awal/akhir, misal "java" -> "$$j", "$ja", "jav", "ava", "va$"
+     */
+    static Set<String> trigrams(String term) {
+        String padded = "$$" + term + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Levenshtein distance yang berhenti lebih awal jika melewati max
+     * @return Jarak sebenarnya, atau max + 1 jika lebih besar dari max
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}